@@ -1,12 +1,15 @@
 package com.example.flutterbackend.Controller;
 
 import com.example.flutterbackend.dto.CategoryDTO;
+import com.example.flutterbackend.service.CategoryCache;
 import com.example.flutterbackend.service.CategoryService;
 import com.example.flutterbackend.security.AuthenticationHelper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -27,14 +30,15 @@ public class CategoryController {
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<CategoryDTO>> getCategoriesByUserId(
             @PathVariable Long userId,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            WebRequest webRequest) {
         
         if (!authHelper.validateUserAccess(userId, request)) {
             throw new RuntimeException("Anda tidak memiliki akses ke kategori user ini");
         }
         
-        List<CategoryDTO> categories = categoryService.getCategoriesByUserId(userId);
-        return ResponseEntity.ok(categories);
+        CategoryCache.Snapshot snapshot = categoryService.getCategorySnapshot(userId);
+        return withETag(snapshot, snapshot.getAll(), webRequest);
     }
     
     // GET semua kategori termasuk yang sudah di-soft delete berdasarkan user
@@ -134,28 +138,46 @@ public class CategoryController {
     @GetMapping("/income/user/{userId}")
     public ResponseEntity<List<CategoryDTO>> getIncomeCategoriesByUserId(
             @PathVariable Long userId,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            WebRequest webRequest) {
         
         if (!authHelper.validateUserAccess(userId, request)) {
             throw new RuntimeException("Anda tidak memiliki akses ke kategori income user ini");
         }
         
-        List<CategoryDTO> categories = categoryService.getIncomeCategoriesByUserId(userId);
-        return ResponseEntity.ok(categories);
+        CategoryCache.Snapshot snapshot = categoryService.getCategorySnapshot(userId);
+        return withETag(snapshot, snapshot.getIncome(), webRequest);
     }
 
     // GET kategori expense berdasarkan user
     @GetMapping("/expense/user/{userId}")
     public ResponseEntity<List<CategoryDTO>> getExpenseCategoriesByUserId(
             @PathVariable Long userId,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            WebRequest webRequest) {
         
         if (!authHelper.validateUserAccess(userId, request)) {
             throw new RuntimeException("Anda tidak memiliki akses ke kategori expense user ini");
         }
         
-        List<CategoryDTO> categories = categoryService.getExpenseCategoriesByUserId(userId);
-        return ResponseEntity.ok(categories);
+        CategoryCache.Snapshot snapshot = categoryService.getCategorySnapshot(userId);
+        return withETag(snapshot, snapshot.getExpense(), webRequest);
+    }
+
+    // ETag dari snapshot kategori; If-None-Match yang cocok dijawab 304 tanpa body.
+    // no-cache: client boleh menyimpan daftar, tapi wajib revalidasi ke server setiap kali dipakai.
+    private ResponseEntity<List<CategoryDTO>> withETag(CategoryCache.Snapshot snapshot, List<CategoryDTO> categories,
+                                                      WebRequest webRequest) {
+        if (webRequest.checkNotModified(snapshot.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getETag())
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getETag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(categories);
     }
 
     // Metode untuk menangani exception
@@ -3,6 +3,8 @@ package com.example.flutterbackend.Controller;
 import com.example.flutterbackend.dto.DashboardDTO;
 import com.example.flutterbackend.service.DashboardService;
 import com.example.flutterbackend.security.AuthenticationHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +19,8 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class DashboardController {
 
+    private static final Logger log = LoggerFactory.getLogger(DashboardController.class);
+
     @Autowired
     private DashboardService dashboardService;
 
@@ -30,7 +34,7 @@ public class DashboardController {
             HttpServletRequest request) {
         
         try {
-            System.out.println("=== GET /api/dashboard/user/" + userId + " called ===");
+            log.debug("GET /api/dashboard/user/{} called", userId);
             
             // Validasi akses user
             if (!authHelper.validateUserAccess(userId, request)) {
@@ -43,7 +47,7 @@ public class DashboardController {
             return ResponseEntity.ok(dashboard);
             
         } catch (Exception e) {
-            System.err.println("Error getting dashboard data: " + e.getMessage());
+            log.warn("Error getting dashboard data: {}", e.getMessage());
             throw e;
         }
     }
@@ -51,8 +55,7 @@ public class DashboardController {
     // Error handling
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleException(Exception ex) {
-        System.err.println("Exception caught: " + ex.getMessage());
-        ex.printStackTrace();
+        log.error("Exception caught: {}", ex.getMessage(), ex);
         
         Map<String, String> error = new HashMap<>();
         error.put("error", ex.getMessage());
@@ -1,15 +1,25 @@
 package com.example.flutterbackend.Controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import com.example.flutterbackend.config.RequestConcurrencyLimitFilter;
 import com.example.flutterbackend.model.User;
 import com.example.flutterbackend.repository.TokenBlacklistRepository;
 import com.example.flutterbackend.repository.UserRepository;
+import com.example.flutterbackend.security.JwtClaimsCache;
 import com.example.flutterbackend.security.JwtUtil;
+import com.example.flutterbackend.security.PrincipalCache;
+import com.example.flutterbackend.security.RevokedTokenIndex;
+import com.example.flutterbackend.security.TokenDigest;
+import com.example.flutterbackend.service.DashboardCache;
+import com.example.flutterbackend.service.TokenBlacklistPurgeService;
 import com.example.flutterbackend.service.TokenBlacklistService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -23,6 +33,8 @@ import java.util.Optional;
 @CrossOrigin(origins = "*")
 public class DebugController {
 
+    private static final Logger log = LoggerFactory.getLogger(DebugController.class);
+
     @Autowired
     private UserRepository userRepository;
 
@@ -31,6 +43,15 @@ public class DebugController {
 
     @Autowired
     private JwtUtil jwtUtil;
+
+    @Autowired
+    private JwtClaimsCache jwtClaimsCache;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private RevokedTokenIndex revokedTokenIndex;
     
     @Autowired
     private TokenBlacklistRepository tokenBlacklistRepository;
@@ -38,6 +59,15 @@ public class DebugController {
     @Autowired
     private TokenBlacklistService tokenBlacklistService;
 
+    @Autowired
+    private TokenBlacklistPurgeService tokenBlacklistPurgeService;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private RequestConcurrencyLimitFilter requestConcurrencyLimitFilter;
+
     // Test endpoint untuk cek koneksi
     @GetMapping("/health")
     public ResponseEntity<?> healthCheck() {
@@ -48,6 +78,60 @@ public class DebugController {
         return ResponseEntity.ok(response);
     }
 
+    // Statistik cache dashboard (hit/miss/eviction)
+    @GetMapping("/cache-stats")
+    public ResponseEntity<?> cacheStats() {
+        CacheStats stats = dashboardCache.stats();
+        Map<String, Object> dashboard = new HashMap<>();
+        dashboard.put("size", dashboardCache.size());
+        dashboard.put("hitCount", stats.hitCount());
+        dashboard.put("missCount", stats.missCount());
+        dashboard.put("hitRate", stats.hitRate());
+        dashboard.put("evictionCount", stats.evictionCount());
+        dashboard.put("averageLoadPenaltyNanos", stats.averageLoadPenalty());
+
+        CacheStats jwtStats = jwtClaimsCache.stats();
+        Map<String, Object> jwtClaims = new HashMap<>();
+        jwtClaims.put("size", jwtClaimsCache.size());
+        jwtClaims.put("hitCount", jwtStats.hitCount());
+        jwtClaims.put("missCount", jwtStats.missCount());
+        jwtClaims.put("hitRate", jwtStats.hitRate());
+        jwtClaims.put("evictionCount", jwtStats.evictionCount());
+
+        CacheStats principalStats = principalCache.stats();
+        Map<String, Object> principals = new HashMap<>();
+        principals.put("size", principalCache.size());
+        principals.put("hitCount", principalStats.hitCount());
+        principals.put("missCount", principalStats.missCount());
+        principals.put("hitRate", principalStats.hitRate());
+        principals.put("evictionCount", principalStats.evictionCount());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("dashboard", dashboard);
+        response.put("jwtClaims", jwtClaims);
+        response.put("principals", principals);
+        response.put("revokedTokens", revokedTokenIndex.size());
+        return ResponseEntity.ok(response);
+    }
+
+    // Metrik pembersihan token_blacklist (baris terhapus, durasi, partisi yang di-drop)
+    @GetMapping("/token-purge-stats")
+    public ResponseEntity<?> tokenPurgeStats() {
+        return ResponseEntity.ok(tokenBlacklistPurgeService.stats());
+    }
+
+    // Status pembatas request bersamaan (izin terpakai, request yang ditolak 503)
+    @GetMapping("/concurrency")
+    public ResponseEntity<?> concurrencyStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("virtualThreads", Thread.currentThread().isVirtual());
+        response.put("limitEnabled", requestConcurrencyLimitFilter.isEnabled());
+        response.put("maxConcurrentRequests", requestConcurrencyLimitFilter.getMaxConcurrentRequests());
+        response.put("inFlight", requestConcurrencyLimitFilter.getInFlight());
+        response.put("rejectedCount", requestConcurrencyLimitFilter.getRejectedCount());
+        return ResponseEntity.ok(response);
+    }
+
     // Test password encoding
     @PostMapping("/test-password")
     public ResponseEntity<?> testPassword(@RequestBody Map<String, String> request) {
@@ -94,7 +178,7 @@ public class DebugController {
                 User user = userOpt.get();
                 
                 // Generate JWT
-                String token = jwtUtil.generateToken(user.getUserId(), user.getUserEmail());
+                String token = jwtUtil.generateToken(user.getUserId(), user.getUserEmail(), user.getTokenVersion());
                 
                 // Validate JWT
                 boolean isValid = jwtUtil.validateToken(token);
@@ -141,9 +225,8 @@ public class DebugController {
             String email = request.get("email");
             String password = request.get("password");
             
-            System.out.println("=== DEBUG Simple Login ===");
-            System.out.println("Email: " + email);
-            System.out.println("Password: " + password);
+            log.debug("DEBUG Simple Login");
+            log.debug("Email: {}", email);
             
             // Find user
             Optional<User> userOpt = userRepository.findByUserEmail(email);
@@ -154,11 +237,11 @@ public class DebugController {
             }
             
             User user = userOpt.get();
-            System.out.println("User found: " + user.getUserId());
+            log.debug("User found: {}", user.getUserId());
             
             // Check password
             boolean passwordMatches = passwordEncoder.matches(password, user.getUserPassword());
-            System.out.println("Password matches: " + passwordMatches);
+            log.debug("Password matches: {}", passwordMatches);
             
             if (!passwordMatches) {
                 Map<String, String> error = new HashMap<>();
@@ -167,8 +250,8 @@ public class DebugController {
             }
             
             // Generate token
-            String token = jwtUtil.generateToken(user.getUserId(), user.getUserEmail());
-            System.out.println("Token generated: " + token.substring(0, 20) + "...");
+            String token = jwtUtil.generateToken(user.getUserId(), user.getUserEmail(), user.getTokenVersion());
+            log.debug("Token generated: {}...", token.substring(0, 20));
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -180,8 +263,7 @@ public class DebugController {
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            System.err.println("Error in simple login: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in simple login: {}", e.getMessage(), e);
             
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -210,13 +292,14 @@ public class DebugController {
     @GetMapping("/check-token")
     public ResponseEntity<?> checkToken(@RequestParam String token) {
         try {
-            boolean isBlacklisted = tokenBlacklistRepository.existsByToken(token);
+            byte[] tokenHash = TokenDigest.sha256(token);
+            boolean isBlacklisted = tokenBlacklistRepository.existsByTokenHash(tokenHash);
             Map<String, Object> response = new HashMap<>();
             response.put("token", token);
             response.put("isBlacklisted", isBlacklisted);
             
             if (isBlacklisted) {
-                var blacklistEntry = tokenBlacklistRepository.findByToken(token);
+                var blacklistEntry = tokenBlacklistRepository.findByTokenHash(tokenHash);
                 response.put("blacklistDetails", blacklistEntry);
             }
             
@@ -0,0 +1,116 @@
+package com.example.flutterbackend.Controller;
+
+import com.example.flutterbackend.dto.ReportJobDTO;
+import com.example.flutterbackend.dto.ReportJobRequestDTO;
+import com.example.flutterbackend.exception.AccessDeniedException;
+import com.example.flutterbackend.exception.BadRequestException;
+import com.example.flutterbackend.security.AuthenticationHelper;
+import com.example.flutterbackend.service.ReportFormat;
+import com.example.flutterbackend.service.ReportJob;
+import com.example.flutterbackend.service.ReportJobService;
+import com.example.flutterbackend.service.ReportJobStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import java.util.Locale;
+
+// Job laporan asinkron: enqueue -> polling status -> download
+@RestController
+@RequestMapping("/api/reports")
+@CrossOrigin(origins = "*")
+public class ReportController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportController.class);
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private AuthenticationHelper authHelper;
+
+    // 1. Enqueue laporan CSV/PDF untuk rentang tanggal
+    @PostMapping(value = "/user/{userId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ReportJobDTO> createReportJob(
+            @PathVariable Long userId,
+            @Valid @RequestBody ReportJobRequestDTO requestDTO,
+            HttpServletRequest request) {
+        log.debug("POST /api/reports/user/{} called", userId);
+        validateAccess(userId, request);
+
+        ReportFormat format;
+        try {
+            format = ReportFormat.valueOf(requestDTO.getFormat().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Format laporan tidak dikenal: " + requestDTO.getFormat() + " (gunakan CSV atau PDF)");
+        }
+        if (requestDTO.getEndDate().isBefore(requestDTO.getStartDate())) {
+            throw new BadRequestException("endDate tidak boleh sebelum startDate");
+        }
+
+        ReportJob job = reportJobService.submit(userId, format, requestDTO.getStartDate(), requestDTO.getEndDate());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(toDTO(job));
+    }
+
+    // 2. Cek status job
+    @GetMapping(value = "/{jobId}/user/{userId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ReportJobDTO> getReportJob(
+            @PathVariable String jobId,
+            @PathVariable Long userId,
+            HttpServletRequest request) {
+        validateAccess(userId, request);
+        return ResponseEntity.ok(toDTO(reportJobService.getJob(jobId, userId)));
+    }
+
+    // 3. Download hasil job yang sudah COMPLETED
+    @GetMapping("/{jobId}/user/{userId}/download")
+    public ResponseEntity<Resource> downloadReport(
+            @PathVariable String jobId,
+            @PathVariable Long userId,
+            HttpServletRequest request) {
+        log.debug("GET /api/reports/{}/user/{}/download called", jobId, userId);
+        validateAccess(userId, request);
+
+        ReportJob job = reportJobService.getCompletedJob(jobId, userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(job.getFormat().getContentType()))
+                .contentLength(job.getFileSize())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(job.getFileName()).build().toString())
+                .body(new FileSystemResource(job.getFile()));
+    }
+
+    private void validateAccess(Long userId, HttpServletRequest request) {
+        if (!authHelper.validateUserAccess(userId, request)) {
+            throw new AccessDeniedException("Anda tidak memiliki akses ke laporan user ini");
+        }
+    }
+
+    private ReportJobDTO toDTO(ReportJob job) {
+        ReportJobDTO dto = new ReportJobDTO();
+        dto.setJobId(job.getJobId());
+        dto.setFormat(job.getFormat().name());
+        dto.setStartDate(job.getStartDate());
+        dto.setEndDate(job.getEndDate());
+        dto.setStatus(job.getStatus().name());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setCompletedAt(job.getCompletedAt());
+        dto.setExpiresAt(job.getExpiresAt());
+        dto.setError(job.getError());
+        if (job.getStatus() == ReportJobStatus.COMPLETED) {
+            dto.setFileSize(job.getFileSize());
+            dto.setDownloadUrl("/api/reports/" + job.getJobId() + "/user/" + job.getUserId() + "/download");
+        }
+        return dto;
+    }
+}
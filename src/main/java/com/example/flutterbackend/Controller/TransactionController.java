@@ -1,10 +1,23 @@
 package com.example.flutterbackend.Controller;
 
+import com.example.flutterbackend.dto.SyncRequestDTO;
+import com.example.flutterbackend.dto.SyncResponseDTO;
 import com.example.flutterbackend.dto.TransactionDTO;
+import com.example.flutterbackend.dto.TransactionPageDTO;
 import com.example.flutterbackend.dto.TransactionSummaryDTO;
+import com.example.flutterbackend.exception.AccessDeniedException;
+import com.example.flutterbackend.exception.BadRequestException;
+import com.example.flutterbackend.exception.ConflictException;
+import com.example.flutterbackend.exception.ResourceNotFoundException;
 import com.example.flutterbackend.service.TransactionService;
+import com.example.flutterbackend.service.TransactionSyncService;
 import com.example.flutterbackend.security.AuthenticationHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -12,7 +25,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.HashMap;
@@ -27,12 +46,19 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class TransactionController {
 
+    private static final Logger log = LoggerFactory.getLogger(TransactionController.class);
+
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
     @Autowired
     private AuthenticationHelper authHelper;
 
+    private static final int CSV_BUFFER_SIZE = 16 * 1024;
+
     // ========== CRUD TRANSAKSI ==========
 
     // 1. CREATE: Buat transaksi baru
@@ -42,7 +68,7 @@ public class TransactionController {
             HttpServletRequest request) {
         
         try {
-            System.out.println("=== POST /api/transactions called ===");
+            log.debug("POST /api/transactions called");
             
             // Validasi bahwa user hanya bisa membuat transaksi untuk dirinya sendiri
             Long authenticatedUserId = authHelper.getUserIdFromRequest(request);
@@ -61,19 +87,47 @@ public class TransactionController {
             return ResponseEntity.status(HttpStatus.CREATED).body(savedTransaction);
             
         } catch (Exception e) {
-            System.err.println("Error creating transaction: " + e.getMessage());
+            log.warn("Error creating transaction: {}", e.getMessage());
             throw e;
         }
     }
 
+    // 1b. BULK CREATE: Buat banyak transaksi sekaligus (import), body berupa array TransactionDTO
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<TransactionDTO>> createTransactions(
+            @RequestBody List<TransactionDTO> transactionDTOs,
+            HttpServletRequest request) {
+        log.debug("POST /api/transactions/bulk called, size: {}", transactionDTOs.size());
+
+        Long authenticatedUserId = authHelper.getUserIdFromRequest(request);
+        List<TransactionDTO> saved = transactionService.createTransactions(authenticatedUserId, transactionDTOs);
+        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+    }
+
+    // SYNC: Kirim operasi offline (CREATE/UPDATE/DELETE) dan terima perubahan sejak cursor terakhir.
+    // Operasi yang ditolak tidak menggagalkan batch; hasilnya ada di 'results' per opId.
+    @PostMapping(value = "/sync", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SyncResponseDTO> syncTransactions(
+            @RequestBody SyncRequestDTO syncRequest,
+            HttpServletRequest request) {
+        log.debug("POST /api/transactions/sync called, operations: {}",
+                syncRequest.getOperations() == null ? 0 : syncRequest.getOperations().size());
+
+        Long authenticatedUserId = authHelper.getUserIdFromRequest(request);
+        return ResponseEntity.ok(transactionSyncService.sync(authenticatedUserId, syncRequest));
+    }
+
     // 2. READ: Ambil semua transaksi user
+    // Jika parameter limit/cursor dikirim, response berupa halaman (keyset pagination)
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<TransactionDTO>> getTransactionsByUserId(
+    public ResponseEntity<?> getTransactionsByUserId(
             @PathVariable Long userId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
             HttpServletRequest request) {
         
         try {
-            System.out.println("=== GET /api/transactions/user/" + userId + " called ===");
+            log.debug("GET /api/transactions/user/{} called", userId);
             
             // Validasi akses user
             if (!authHelper.validateUserAccess(userId, request)) {
@@ -81,12 +135,17 @@ public class TransactionController {
                 error.put("error", "Anda tidak memiliki akses ke transaksi user ini");
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
             }
+
+            if (limit != null || cursor != null) {
+                TransactionPageDTO page = transactionService.getTransactionsPageByUserId(userId, limit, cursor);
+                return ResponseEntity.ok(page);
+            }
             
             List<TransactionDTO> transactions = transactionService.getTransactionsByUserId(userId);
             return ResponseEntity.ok(transactions);
             
         } catch (Exception e) {
-            System.err.println("Error getting transactions: " + e.getMessage());
+            log.warn("Error getting transactions: {}", e.getMessage());
             throw e;
         }
     }
@@ -99,7 +158,7 @@ public class TransactionController {
             HttpServletRequest request) {
         
         try {
-            System.out.println("=== GET /api/transactions/" + transactionId + "/user/" + userId + " called ===");
+            log.debug("GET /api/transactions/{}/user/{} called", transactionId, userId);
             
             // Validasi akses user
             if (!authHelper.validateUserAccess(userId, request)) {
@@ -112,7 +171,7 @@ public class TransactionController {
             return ResponseEntity.ok(transaction);
             
         } catch (Exception e) {
-            System.err.println("Error getting transaction: " + e.getMessage());
+            log.warn("Error getting transaction: {}", e.getMessage());
             throw e;
         }
     }
@@ -126,7 +185,7 @@ public class TransactionController {
             HttpServletRequest request) {
         
         try {
-            System.out.println("=== PUT /api/transactions/" + transactionId + "/user/" + userId + " called ===");
+            log.debug("PUT /api/transactions/{}/user/{} called", transactionId, userId);
             
             // Validasi akses user
             if (!authHelper.validateUserAccess(userId, request)) {
@@ -139,7 +198,7 @@ public class TransactionController {
             return ResponseEntity.ok(updatedTransaction);
             
         } catch (Exception e) {
-            System.err.println("Error updating transaction: " + e.getMessage());
+            log.warn("Error updating transaction: {}", e.getMessage());
             throw e;
         }
     }
@@ -152,7 +211,7 @@ public class TransactionController {
             HttpServletRequest request) {
         
         try {
-            System.out.println("=== DELETE /api/transactions/" + transactionId + "/user/" + userId + " called ===");
+            log.debug("DELETE /api/transactions/{}/user/{} called", transactionId, userId);
             
             // Validasi akses user
             if (!authHelper.validateUserAccess(userId, request)) {
@@ -170,7 +229,7 @@ public class TransactionController {
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            System.err.println("Error deleting transaction: " + e.getMessage());
+            log.warn("Error deleting transaction: {}", e.getMessage());
             
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -187,7 +246,7 @@ public class TransactionController {
             HttpServletRequest request) {
         
         try {
-            System.out.println("=== GET /api/transactions/summary/monthly/user/" + userId + " called ===");
+            log.debug("GET /api/transactions/summary/monthly/user/{} called", userId);
             
             // Validasi akses user
             if (!authHelper.validateUserAccess(userId, request)) {
@@ -200,7 +259,7 @@ public class TransactionController {
             return ResponseEntity.ok(summary);
             
         } catch (Exception e) {
-            System.err.println("Error getting monthly summary: " + e.getMessage());
+            log.warn("Error getting monthly summary: {}", e.getMessage());
             throw e;
         }
     }
@@ -212,7 +271,7 @@ public class TransactionController {
             HttpServletRequest request) {
         
         try {
-            System.out.println("=== GET /api/transactions/summary/yearly/user/" + userId + " called ===");
+            log.debug("GET /api/transactions/summary/yearly/user/{} called", userId);
             
             // Validasi akses user
             if (!authHelper.validateUserAccess(userId, request)) {
@@ -225,49 +284,71 @@ public class TransactionController {
             return ResponseEntity.ok(summary);
             
         } catch (Exception e) {
-            System.err.println("Error getting yearly summary: " + e.getMessage());
+            log.warn("Error getting yearly summary: {}", e.getMessage());
             throw e;
         }
     }
 
     // ========== EXPORT ENDPOINTS ==========
-    // Endpoint baru untuk ekspor CSV bulanan
+    // Endpoint baru untuk ekspor CSV bulanan (streaming, lihat streamCsv)
   @GetMapping(value = "/export/csv/monthly/user/{userId}", produces = "text/csv")
-  public ResponseEntity<byte[]> exportMonthlyCsv(
+  public void exportMonthlyCsv(
           @PathVariable Long userId,
           @RequestParam(required = false) Integer year,
           @RequestParam(required = false) Integer month,
-          HttpServletRequest request) {
-      try {
-          System.out.println("=== GET /api/transactions/export/csv/monthly/user/" + userId + " called ===");
-          
-          // Validasi akses user
-          if (!authHelper.validateUserAccess(userId, request)) {
-              return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Anda tidak memiliki akses untuk mengekspor laporan ini".getBytes());
-          }
+          HttpServletRequest request,
+          HttpServletResponse response) throws IOException {
+      log.debug("GET /api/transactions/export/csv/monthly/user/{} called", userId);
 
-          YearMonth targetMonth;
-          if (year != null && month != null) {
-              targetMonth = YearMonth.of(year, month);
-          } else {
-              targetMonth = YearMonth.now();
-          }
+      YearMonth targetMonth;
+      if (year != null && month != null) {
+          targetMonth = YearMonth.of(year, month);
+      } else {
+          targetMonth = YearMonth.now();
+      }
 
-          LocalDate startDate = targetMonth.atDay(1);
-          LocalDate endDate = targetMonth.atEndOfMonth();
+      streamCsv(userId, targetMonth.atDay(1), targetMonth.atEndOfMonth(),
+              "monthly_transactions_" + targetMonth + ".csv", request, response);
+  }
 
-          byte[] csvBytes = transactionService.generateCsvReport(userId, startDate, endDate);
+  // Ekspor CSV untuk rentang tanggal bebas, contoh: ?startDate=2024-01-01&endDate=2024-12-31
+  @GetMapping(value = "/export/csv/user/{userId}", produces = "text/csv")
+  public void exportCsvByDateRange(
+          @PathVariable Long userId,
+          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+          HttpServletRequest request,
+          HttpServletResponse response) throws IOException {
+      log.debug("GET /api/transactions/export/csv/user/{} called", userId);
 
-          HttpHeaders headers = new HttpHeaders();
-          headers.setContentType(MediaType.parseMediaType("text/csv"));
-          headers.setContentDispositionFormData("attachment", "monthly_transactions_" + targetMonth.toString() + ".csv");
-          headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
-          return new ResponseEntity<>(csvBytes, headers, HttpStatus.OK);
-      } catch (Exception e) {
-          System.err.println("Error exporting monthly CSV: " + e.getMessage());
-          e.printStackTrace();
-          return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(("Failed to export monthly CSV: " + e.getMessage()).getBytes());
+      if (endDate.isBefore(startDate)) {
+          response.sendError(HttpStatus.BAD_REQUEST.value(), "endDate tidak boleh sebelum startDate");
+          return;
       }
+
+      streamCsv(userId, startDate, endDate,
+              "transactions_" + startDate + "_" + endDate + ".csv", request, response);
+  }
+
+  // Baris CSV ditulis langsung ke output stream response lewat buffered UTF-8 writer,
+  // tanpa menampung seluruh laporan di memori. Setelah baris pertama terkirim status
+  // tidak bisa diubah lagi, jadi validasi dilakukan sebelum streaming dimulai.
+  private void streamCsv(Long userId, LocalDate startDate, LocalDate endDate, String fileName,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+      // Validasi akses user
+      if (!authHelper.validateUserAccess(userId, request)) {
+          response.sendError(HttpStatus.FORBIDDEN.value(), "Anda tidak memiliki akses untuk mengekspor laporan ini");
+          return;
+      }
+
+      response.setContentType("text/csv;charset=UTF-8");
+      response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+              ContentDisposition.attachment().filename(fileName).build().toString());
+      response.setHeader(HttpHeaders.CACHE_CONTROL, "must-revalidate, post-check=0, pre-check=0");
+
+      Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), CSV_BUFFER_SIZE);
+      long rows = transactionService.writeCsvReport(userId, startDate, endDate, writer);
+      log.debug("CSV export user {} ({} - {}): {} rows", userId, startDate, endDate, rows);
   }
 
   // Endpoint baru untuk ekspor PDF bulanan (konseptual)
@@ -278,7 +359,7 @@ public class TransactionController {
           @RequestParam(required = false) Integer month,
           HttpServletRequest request) {
       try {
-          System.out.println("=== GET /api/transactions/export/pdf/monthly/user/" + userId + " called ===");
+          log.debug("GET /api/transactions/export/pdf/monthly/user/{} called", userId);
           
           // Validasi akses user
           if (!authHelper.validateUserAccess(userId, request)) {
@@ -303,18 +384,28 @@ public class TransactionController {
           headers.setContentDispositionFormData("attachment", "monthly_transactions_" + targetMonth.toString() + ".pdf");
           return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
       } catch (Exception e) {
-          System.err.println("Error exporting monthly PDF: " + e.getMessage());
-          e.printStackTrace();
+          log.error("Error exporting monthly PDF: {}", e.getMessage(), e);
           return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(("Failed to export monthly PDF: " + e.getMessage()).getBytes());
       }
   }
 
     // ========== ERROR HANDLING ==========
+
+    // Exception dengan @ResponseStatus (dipakai bulk create dan sync) dikembalikan dengan status aslinya, bukan 500
+    @ExceptionHandler({BadRequestException.class, ResourceNotFoundException.class, AccessDeniedException.class,
+            ConflictException.class})
+    public ResponseEntity<Map<String, String>> handleClientError(RuntimeException ex) {
+        log.warn("Request rejected: {}", ex.getMessage());
+
+        ResponseStatus status = AnnotationUtils.findAnnotation(ex.getClass(), ResponseStatus.class);
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(status.code()).body(error);
+    }
     
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleException(Exception ex) {
-        System.err.println("Exception caught: " + ex.getMessage());
-        ex.printStackTrace();
+        log.error("Exception caught: {}", ex.getMessage(), ex);
         
         Map<String, String> error = new HashMap<>();
         error.put("error", ex.getMessage());
@@ -7,6 +7,8 @@ import com.example.flutterbackend.dto.UserDTO;
 import com.example.flutterbackend.service.UserService;
 import com.example.flutterbackend.security.AuthenticationHelper;
 import com.example.flutterbackend.service.TokenBlacklistService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -22,6 +24,8 @@ import org.springframework.web.multipart.MultipartFile;
 @RequestMapping("/api/users")
 @CrossOrigin(origins = "*")
 public class UserController {
+
+    private static final Logger log = LoggerFactory.getLogger(UserController.class);
     
     @Autowired
     private UserService userService;
@@ -38,11 +42,11 @@ public class UserController {
     @PostMapping("/register")
     public ResponseEntity<UserDTO> register(@Valid @RequestBody UserRegistrationDTO request) {
         try {
-            System.out.println("=== POST /api/users/register called ===");
+            log.debug("POST /api/users/register called");
             UserDTO registeredUser = userService.registrationUser(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(registeredUser);
         } catch (Exception e) {
-            System.err.println("Error during registration: " + e.getMessage());
+            log.warn("Error during registration: {}", e.getMessage());
             throw e;
         }
     }
@@ -51,15 +55,15 @@ public class UserController {
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody UserLoginDTO request, HttpServletRequest httpRequest) {
         try {
-            System.out.println("=== POST /api/users/login called ===");
+            log.debug("POST /api/users/login called");
             UserService.LoginResponse loginResponse = userService.login(request);
             
             // NO SESSION CREATION - ONLY JWT
-            System.out.println("Login successful, returning JWT token only");
+            log.debug("Login successful, returning JWT token only");
             
             return ResponseEntity.ok(loginResponse);
         } catch (Exception e) {
-            System.err.println("Error in login: " + e.getMessage());
+            log.warn("Error in login: {}", e.getMessage());
             
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -71,39 +75,38 @@ public class UserController {
     @PostMapping("/logout")
     public ResponseEntity<Map<String, String>> logout(HttpServletRequest request) {
         try {
-            System.out.println("=== POST /api/users/logout called ===");
+            log.debug("POST /api/users/logout called");
             
             // Get userId from request attribute (set by JWT filter)
             Long userId = authHelper.getUserIdFromRequest(request);
-            System.out.println("User ID from request: " + userId);
+            log.debug("User ID from request: {}", userId);
             
             // Get token from request attribute (set by JWT filter)
             String token = (String) request.getAttribute("jwtToken");
-            System.out.println("Token from request: " + (token != null ? "Present" : "Not Present"));
+            log.debug("Token from request: {}", (token != null ? "Present" : "Not Present"));
             
             // Fallback: get token from Authorization header if not in attribute
             if (token == null) {
                 String authHeader = request.getHeader("Authorization");
                 if (authHeader != null && authHeader.startsWith("Bearer ")) {
                     token = authHeader.substring(7);
-                    System.out.println("Token extracted from header as fallback");
+                    log.debug("Token extracted from header as fallback");
                 }
             }
             
             // Add token to blacklist if we have both userId and token
             if (userId != null && token != null) {
                 tokenBlacklistService.blacklistToken(token, userId);
-                System.out.println("Token blacklisted successfully for user: " + userId);
+                log.info("Token blacklisted successfully for user: {}", userId);
             } else {
-                System.err.println("Cannot blacklist token - userId: " + userId + ", token: " + (token != null ? "present" : "null"));
+                log.warn("Cannot blacklist token - userId: {}, token: {}", userId, (token != null ? "present" : "null"));
             }
             
             Map<String, String> response = new HashMap<>();
             response.put("message", "Logout berhasil");
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("Error during logout: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error during logout: {}", e.getMessage(), e);
             
             Map<String, String> response = new HashMap<>();
             response.put("message", "Logout gagal: " + e.getMessage());
@@ -111,13 +114,33 @@ public class UserController {
         }
     }
 
+    // 3b. LOGOUT ALL: Cabut semua token user (semua perangkat/sesi)
+    @PostMapping("/logout-all")
+    public ResponseEntity<Map<String, String>> logoutAll(HttpServletRequest request) {
+        log.debug("POST /api/users/logout-all called");
+
+        Long userId = authHelper.getUserIdFromRequest(request);
+        if (userId == null) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "User tidak terautentikasi");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+
+        userService.logoutAllSessions(userId);
+        log.info("All tokens revoked for user: {}", userId);
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Logout dari semua sesi berhasil");
+        return ResponseEntity.ok(response);
+    }
+
     // 4. GET PROFILE: Ambil data user berdasarkan ID
     @GetMapping("/{userId}")
     public ResponseEntity<UserDTO> getUserById(
             @PathVariable Long userId,
             HttpServletRequest request) {
         try {
-            System.out.println("=== GET /api/users/" + userId + " called ===");
+            log.debug("GET /api/users/{} called", userId);
             
             // Validasi akses
             if (!authHelper.validateUserAccess(userId, request)) {
@@ -129,7 +152,7 @@ public class UserController {
             UserDTO user = userService.getUserById(userId);
             return ResponseEntity.ok(user);
         } catch (Exception e) {
-            System.err.println("Error getting user by ID: " + e.getMessage());
+            log.warn("Error getting user by ID: {}", e.getMessage());
             throw e;
         }
     }
@@ -142,7 +165,7 @@ public class UserController {
             HttpServletRequest httpRequest) {
         
         try {
-            System.out.println("=== PUT /api/users/" + userId + "/profile called ===");
+            log.debug("PUT /api/users/{}/profile called", userId);
             
             // Validasi akses
             if (!authHelper.validateUserAccess(userId, httpRequest)) {
@@ -154,7 +177,7 @@ public class UserController {
             UserDTO updatedUser = userService.updateProfile(userId, request);
             return ResponseEntity.ok(updatedUser);
         } catch (Exception e) {
-            System.err.println("Error updating profile: " + e.getMessage());
+            log.warn("Error updating profile: {}", e.getMessage());
             throw e;
         }
     }
@@ -167,7 +190,7 @@ public class UserController {
             HttpServletRequest request) {
         
         try {
-            System.out.println("=== PUT /api/users/" + userId + "/password called ===");
+            log.debug("PUT /api/users/{}/password called", userId);
             
             // Validasi akses
             if (!authHelper.validateUserAccess(userId, request)) {
@@ -193,7 +216,7 @@ public class UserController {
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("Error updating password: " + e.getMessage());
+            log.warn("Error updating password: {}", e.getMessage());
             
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -208,7 +231,7 @@ public class UserController {
             HttpServletRequest request) {
         
         try {
-            System.out.println("=== DELETE /api/users/" + userId + " called ===");
+            log.debug("DELETE /api/users/{} called", userId);
             
             // Validasi akses
             if (!authHelper.validateUserAccess(userId, request)) {
@@ -217,29 +240,16 @@ public class UserController {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
             }
             
+            // Versi token ikut dinaikkan, jadi semua token user (termasuk token ini) langsung tidak berlaku
             UserDTO deletedUser = userService.deleteUser(userId);
             
-            // Blacklist current token
-            String token = (String) request.getAttribute("jwtToken");
-            if (token == null) {
-                String authHeader = request.getHeader("Authorization");
-                if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                    token = authHeader.substring(7);
-                }
-            }
-            
-            if (token != null) {
-                tokenBlacklistService.blacklistToken(token, userId);
-                System.out.println("Token blacklisted after user deletion");
-            }
-            
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Akun berhasil dihapus");
             response.put("user", deletedUser);
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("Error deleting user: " + e.getMessage());
+            log.warn("Error deleting user: {}", e.getMessage());
             
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -256,7 +266,7 @@ public class UserController {
             HttpServletRequest request) {
         
         try {
-            System.out.println("=== POST /api/users/" + userId + "/profile-photo called ===");
+            log.debug("POST /api/users/{}/profile-photo called", userId);
             
             // Validasi akses
             if (!authHelper.validateUserAccess(userId, request)) {
@@ -280,7 +290,7 @@ public class UserController {
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("Error uploading profile photo: " + e.getMessage());
+            log.warn("Error uploading profile photo: {}", e.getMessage());
             
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -295,7 +305,7 @@ public class UserController {
             HttpServletRequest request) {
         
         try {
-            System.out.println("=== DELETE /api/users/" + userId + "/profile-photo called ===");
+            log.debug("DELETE /api/users/{}/profile-photo called", userId);
             
             // 1. Validasi akses, pastikan user yang login yang menghapus fotonya sendiri
             if (!authHelper.validateUserAccess(userId, request)) {
@@ -315,7 +325,7 @@ public class UserController {
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            System.err.println("Error deleting profile photo: " + e.getMessage());
+            log.warn("Error deleting profile photo: {}", e.getMessage());
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
@@ -326,8 +336,7 @@ public class UserController {
     
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleException(Exception ex) {
-        System.err.println("Exception caught: " + ex.getMessage());
-        ex.printStackTrace();
+        log.error("Exception caught: {}", ex.getMessage(), ex);
         
         Map<String, String> error = new HashMap<>();
         error.put("error", ex.getMessage());
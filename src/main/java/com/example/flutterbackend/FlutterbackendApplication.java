@@ -7,6 +7,8 @@ import com.example.flutterbackend.repository.CategoryRepository;
 import com.example.flutterbackend.repository.TransactionRepository;
 import com.example.flutterbackend.repository.UserRepository;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -22,6 +24,8 @@ import java.util.ArrayList;
 @EnableScheduling // Enable scheduling for token cleanup
 public class FlutterbackendApplication {
 
+    private static final Logger log = LoggerFactory.getLogger(FlutterbackendApplication.class);
+
     public static void main(String[] args) {
         SpringApplication.run(FlutterbackendApplication.class, args);
     }
@@ -31,7 +35,7 @@ public class FlutterbackendApplication {
     public CommandLineRunner demoDataUser(UserRepository userRepository, PasswordEncoder passwordEncoder) {
         return args -> {
             try {
-                System.out.println("=== Creating demo users ===");
+                log.debug("Creating demo users");
                 
                 // Update existing users with hashed passwords
                 userRepository.findAll().forEach(user -> {
@@ -39,15 +43,15 @@ public class FlutterbackendApplication {
                         // Check if password is already hashed (BCrypt hashes start with $2a$, $2b$, or $2y$)
                         String currentPassword = user.getUserPassword();
                         if (currentPassword != null && !currentPassword.startsWith("$2")) {
-                            System.out.println("Updating password for user: " + user.getUserEmail());
+                            log.debug("Updating password for user: {}", user.getUserEmail());
                             user.setUserPassword(passwordEncoder.encode(currentPassword));
                             userRepository.save(user);
-                            System.out.println("Password updated for user: " + user.getUserEmail());
+                            log.debug("Password updated for user: {}", user.getUserEmail());
                         } else {
-                            System.out.println("Password already hashed for user: " + user.getUserEmail());
+                            log.debug("Password already hashed for user: {}", user.getUserEmail());
                         }
                     } catch (Exception e) {
-                        System.err.println("Error updating password for user " + user.getUserEmail() + ": " + e.getMessage());
+                        log.warn("Error updating password for user {}: {}", user.getUserEmail(), e.getMessage());
                     }
                 });
                 
@@ -62,13 +66,12 @@ public class FlutterbackendApplication {
                     user.setIsDeleted(false);
                     userRepository.save(user);
                     
-                    System.out.println("User default berhasil dibuat dengan password ter-hash");
+                    log.info("User default berhasil dibuat dengan password ter-hash");
                 } else {
-                    System.out.println("Demo users setup completed");
+                    log.info("Demo users setup completed");
                 }
             } catch (Exception e) {
-                System.err.println("Error creating demo user: " + e.getMessage());
-                e.printStackTrace();
+                log.error("Error creating demo user: {}", e.getMessage(), e);
             }
         };
     }
@@ -96,15 +99,15 @@ public class FlutterbackendApplication {
                         categoryRepository.save(transportasi);
                         categoryRepository.save(bonus);
                         
-                        System.out.println("Kategori default berhasil dibuat");
+                        log.info("Kategori default berhasil dibuat");
                     } else {
-                        System.out.println("User belum tersedia untuk membuat kategori");
+                        log.debug("User belum tersedia untuk membuat kategori");
                     }
                 } else {
-                    System.out.println("Data kategori sudah ada");
+                    log.debug("Data kategori sudah ada");
                 }
             } catch (Exception e) {
-                System.err.println("Error creating demo categories: " + e.getMessage());
+                log.warn("Error creating demo categories: {}", e.getMessage());
             }
         };
     }
@@ -137,18 +140,18 @@ public class FlutterbackendApplication {
                             transactionRepository.save(t2);
                             transactionRepository.save(t3);
                             
-                            System.out.println("Data transaksi berhasil dibuat");
+                            log.info("Data transaksi berhasil dibuat");
                         } else {
-                            System.out.println("Kategori belum tersedia untuk membuat transaksi");
+                            log.debug("Kategori belum tersedia untuk membuat transaksi");
                         }
                     } else {
-                        System.out.println("User belum tersedia untuk membuat transaksi");
+                        log.debug("User belum tersedia untuk membuat transaksi");
                     }
                 } else {
-                    System.out.println("Data transaksi sudah ada");
+                    log.debug("Data transaksi sudah ada");
                 }
             } catch (Exception e) {
-                System.err.println("Error creating demo transactions: " + e.getMessage());
+                log.warn("Error creating demo transactions: {}", e.getMessage());
             }
         };
     }
@@ -0,0 +1,16 @@
+package com.example.flutterbackend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfig {
+
+    // Sumber waktu "sekarang" untuk service (UTC, sama dengan kolom updated_at); bisa diganti di test
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.flutterbackend.config;
+
+import com.example.flutterbackend.security.JwtClaimsCache;
+import com.example.flutterbackend.security.PrincipalCache;
+import com.example.flutterbackend.security.RevokedTokenIndex;
+import com.example.flutterbackend.service.CategoryCache;
+import com.example.flutterbackend.service.DashboardCache;
+import com.example.flutterbackend.service.TokenBlacklistPurgeService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Metrik aplikasi tambahan untuk /actuator/prometheus.
+// Latensi per endpoint (http_server_requests), per method repository (spring_data_repository_invocations),
+// pool Hikari (hikaricp_*) dan executor laporan (executor_*) sudah dicatat otomatis oleh actuator.
+// Timer JWT/blacklist ada di JwtFilter, timer render laporan di TransactionService.
+@Configuration
+public class MetricsConfig {
+
+    // Hit ratio cache Caffeine: cache_gets_total{cache=..., result="hit"|"miss"}, cache_evictions_total, cache_size
+    @Bean
+    public MeterBinder cacheMetrics(DashboardCache dashboardCache, CategoryCache categoryCache,
+                                    JwtClaimsCache jwtClaimsCache, PrincipalCache principalCache) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, dashboardCache.nativeCache(), "dashboard");
+            CaffeineCacheMetrics.monitor(registry, categoryCache.nativeCache(), "categories");
+            CaffeineCacheMetrics.monitor(registry, jwtClaimsCache.nativeCache(), "jwtClaims");
+            CaffeineCacheMetrics.monitor(registry, principalCache.nativeCache(), "principals");
+        };
+    }
+
+    @Bean
+    public MeterBinder tokenBlacklistMetrics(RevokedTokenIndex revokedTokenIndex,
+                                             TokenBlacklistPurgeService purgeService) {
+        return registry -> {
+            Gauge.builder("app.token_blacklist.index.size", revokedTokenIndex, RevokedTokenIndex::size)
+                    .description("Revoked tokens held in the in-memory index")
+                    .register(registry);
+            FunctionCounter.builder("app.token_blacklist.purged.rows", purgeService,
+                            TokenBlacklistPurgeService::getTotalRowsPurged)
+                    .description("Expired blacklist rows deleted by the purge job")
+                    .register(registry);
+            FunctionCounter.builder("app.token_blacklist.purge.failures", purgeService,
+                            TokenBlacklistPurgeService::getFailures)
+                    .register(registry);
+        };
+    }
+
+    // Saturasi limiter request (hanya aktif bersama virtual thread)
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(RequestConcurrencyLimitFilter limitFilter) {
+        return registry -> {
+            Gauge.builder("app.requests.in_flight", limitFilter, RequestConcurrencyLimitFilter::getInFlight)
+                    .description("/api requests holding a concurrency permit")
+                    .register(registry);
+            Gauge.builder("app.requests.max_concurrent", limitFilter, RequestConcurrencyLimitFilter::getMaxConcurrentRequests)
+                    .register(registry);
+            FunctionCounter.builder("app.requests.rejected", limitFilter, RequestConcurrencyLimitFilter::getRejectedCount)
+                    .description("/api requests rejected with 503 after acquire-timeout-ms")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.flutterbackend.config;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Map;
+
+@Configuration
+public class ReportExecutorConfig {
+
+    // Worker pool khusus pembuatan laporan: jumlah thread dan antrian dibatasi,
+    // sehingga lonjakan permintaan laporan tidak menghabiskan thread request atau koneksi database.
+    // Jika antrian penuh, submit ditolak (TaskRejectedException) dan API mengembalikan 503.
+    @Bean(name = "reportExecutor")
+    public ThreadPoolTaskExecutor reportExecutor(
+            @Value("${app.reports.pool-size:2}") int poolSize,
+            @Value("${app.reports.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        // Bawa MDC (requestId, userId) dari request yang men-submit job ke log worker
+        executor.setTaskDecorator(task -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return () -> {
+                if (context != null) {
+                    MDC.setContextMap(context);
+                }
+                try {
+                    task.run();
+                } finally {
+                    MDC.clear();
+                }
+            };
+        });
+        executor.initialize();
+        return executor;
+    }
+}
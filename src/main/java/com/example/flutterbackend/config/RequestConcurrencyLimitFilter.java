@@ -0,0 +1,95 @@
+package com.example.flutterbackend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Membatasi jumlah request /api yang diproses bersamaan.
+ *
+ * Dengan virtual thread, Tomcat tidak lagi dibatasi jumlah thread worker, jadi ribuan request bisa
+ * sekaligus menunggu koneksi Hikari dan gagal setelah connection-timeout. Filter ini menahan request
+ * di semaphore (murah untuk virtual thread) sebelum masuk ke security/controller, dan menolak dengan
+ * 503 jika izin tidak didapat dalam acquire-timeout-ms. Jumlah izin default sama dengan ukuran pool Hikari.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1) // setelah CorrelationIdFilter, agar penolakan 503 tetap punya requestId
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final int maxConcurrentRequests;
+    private final long acquireTimeoutMs;
+    private final Semaphore permits;
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public RequestConcurrencyLimitFilter(
+            @Value("${app.concurrency.limit-enabled:false}") boolean enabled,
+            @Value("${app.concurrency.max-concurrent-requests:10}") int maxConcurrentRequests,
+            @Value("${app.concurrency.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        this.enabled = enabled;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejectedCount.incrementAndGet();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\":\"Server sedang sibuk, silakan coba lagi\"}");
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        // Health check tetap dijawab walaupun server penuh
+        return !enabled || !path.startsWith("/api/") || path.equals("/api/debug/health");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public int getInFlight() {
+        return maxConcurrentRequests - permits.availablePermits();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+}
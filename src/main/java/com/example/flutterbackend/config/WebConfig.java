@@ -2,7 +2,9 @@ package com.example.flutterbackend.config;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
@@ -35,12 +37,17 @@ public class WebConfig implements WebMvcConfigurer {
             MediaType.valueOf("text/json")
         ));
         converters.add(jsonConverter);
+
+        // Converter untuk file/biner (ekspor PDF dan download hasil job laporan)
+        converters.add(new ByteArrayHttpMessageConverter());
+        converters.add(new ResourceHttpMessageConverter());
     }
 
     @Override
     public void configureContentNegotiation(ContentNegotiationConfigurer configurer) {
         configurer
-            .defaultContentType(MediaType.APPLICATION_JSON)
+            // ALL sebagai fallback agar Accept: */* tetap cocok dengan endpoint non-JSON (ekspor CSV/PDF)
+            .defaultContentType(MediaType.APPLICATION_JSON, MediaType.ALL)
             .mediaType("json", MediaType.APPLICATION_JSON);
     }
 
@@ -0,0 +1,49 @@
+package com.example.flutterbackend.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@Data
+public class ReportJobDTO {
+
+    @JsonProperty("jobId")
+    private String jobId;
+
+    @JsonProperty("format")
+    private String format;
+
+    @JsonProperty("startDate")
+    private LocalDate startDate;
+
+    @JsonProperty("endDate")
+    private LocalDate endDate;
+
+    // QUEUED, RUNNING, COMPLETED, FAILED
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("createdAt")
+    private Instant createdAt;
+
+    @JsonProperty("completedAt")
+    private Instant completedAt;
+
+    // Setelah waktu ini job dan file hasilnya dihapus
+    @JsonProperty("expiresAt")
+    private Instant expiresAt;
+
+    @JsonProperty("fileSize")
+    private Long fileSize;
+
+    @JsonProperty("error")
+    private String error;
+
+    // Hanya terisi jika status COMPLETED
+    @JsonProperty("downloadUrl")
+    private String downloadUrl;
+
+    // Constructor kosong
+    public ReportJobDTO() {}
+}
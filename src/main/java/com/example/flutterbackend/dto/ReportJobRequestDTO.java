@@ -0,0 +1,27 @@
+package com.example.flutterbackend.dto;
+
+import java.time.LocalDate;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@Data
+public class ReportJobRequestDTO {
+
+    // CSV atau PDF
+    @JsonProperty("format")
+    @NotBlank(message = "Format is required")
+    private String format;
+
+    @JsonProperty("startDate")
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @JsonProperty("endDate")
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    // Constructor kosong
+    public ReportJobRequestDTO() {}
+}
@@ -0,0 +1,25 @@
+package com.example.flutterbackend.dto;
+
+import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Satu operasi offline dari device
+@Data
+public class SyncOperationDTO {
+
+    // ID unik buatan client (misalnya UUID, maksimal 64 karakter); operasi yang dikirim ulang
+    // dengan ID yang sama tidak dijalankan lagi
+    @JsonProperty("opId")
+    private String opId;
+
+    // CREATE, UPDATE, atau DELETE
+    @JsonProperty("type")
+    private String type;
+
+    // Data transaksi; UPDATE dan DELETE wajib menyertakan transactionId dari server
+    @JsonProperty("transaction")
+    private TransactionDTO transaction;
+
+    // Constructor kosong
+    public SyncOperationDTO() {}
+}
@@ -0,0 +1,21 @@
+package com.example.flutterbackend.dto;
+
+import java.util.List;
+import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Body POST /api/transactions/sync: perubahan offline dari device + cursor dari sync sebelumnya
+@Data
+public class SyncRequestDTO {
+
+    // Cursor dari response sync sebelumnya (null untuk sync pertama)
+    @JsonProperty("cursor")
+    private String cursor;
+
+    // Dijalankan berurutan dalam satu transaksi database
+    @JsonProperty("operations")
+    private List<SyncOperationDTO> operations;
+
+    // Constructor kosong
+    public SyncRequestDTO() {}
+}
@@ -0,0 +1,36 @@
+package com.example.flutterbackend.dto;
+
+import java.util.List;
+import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Response POST /api/transactions/sync
+@Data
+public class SyncResponseDTO {
+
+    @JsonProperty("results")
+    private List<SyncResultDTO> results;
+
+    // Transaksi user yang berubah sejak cursor request (termasuk yang dihapus: isDeleted = true)
+    @JsonProperty("changes")
+    private List<TransactionDTO> changes;
+
+    // Cursor untuk sync berikutnya
+    @JsonProperty("cursor")
+    private String cursor;
+
+    // true jika masih ada perubahan setelah cursor ini (panggil sync lagi tanpa operasi)
+    @JsonProperty("hasMore")
+    private Boolean hasMore;
+
+    // Constructor kosong
+    public SyncResponseDTO() {}
+
+    // Constructor dengan parameter
+    public SyncResponseDTO(List<SyncResultDTO> results, List<TransactionDTO> changes, String cursor, Boolean hasMore) {
+        this.results = results;
+        this.changes = changes;
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.flutterbackend.dto;
+
+import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Hasil satu operasi sync, urutannya sama dengan operasi di request
+@Data
+public class SyncResultDTO {
+
+    @JsonProperty("opId")
+    private String opId;
+
+    @JsonProperty("type")
+    private String type;
+
+    // APPLIED atau REJECTED
+    @JsonProperty("status")
+    private String status;
+
+    // Status HTTP yang setara jika operasi dikirim sebagai request biasa (201, 200, 400, 403, 404)
+    @JsonProperty("httpStatus")
+    private Integer httpStatus;
+
+    // ID transaksi di server (untuk CREATE: ID baru yang harus disimpan client)
+    @JsonProperty("transactionId")
+    private Long transactionId;
+
+    @JsonProperty("message")
+    private String message;
+
+    // true jika operasi sudah pernah diproses dan hasilnya diambil dari sync_operations
+    @JsonProperty("replayed")
+    private Boolean replayed;
+
+    // Constructor kosong
+    public SyncResultDTO() {}
+
+    // Constructor dengan parameter
+    public SyncResultDTO(String opId, String type, String status, Integer httpStatus, Long transactionId,
+                         String message, Boolean replayed) {
+        this.opId = opId;
+        this.type = type;
+        this.status = status;
+        this.httpStatus = httpStatus;
+        this.transactionId = transactionId;
+        this.message = message;
+        this.replayed = replayed;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.flutterbackend.dto;
+
+import java.util.List;
+import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@Data
+public class TransactionPageDTO {
+
+    @JsonProperty("transactions")
+    private List<TransactionDTO> transactions;
+
+    // Token opaque untuk mengambil halaman berikutnya (null jika sudah halaman terakhir)
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+
+    @JsonProperty("hasMore")
+    private Boolean hasMore;
+
+    @JsonProperty("limit")
+    private Integer limit;
+
+    // Constructor kosong
+    public TransactionPageDTO() {}
+
+    // Constructor dengan parameter
+    public TransactionPageDTO(List<TransactionDTO> transactions, String nextCursor, Boolean hasMore, Integer limit) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.limit = limit;
+    }
+
+    // Getters dan Setters
+    public List<TransactionDTO> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<TransactionDTO> transactions) {
+        this.transactions = transactions;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(Boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.flutterbackend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Hasil satu operasi sync (POST /api/transactions/sync) per ID operasi dari client.
+// Operasi dengan ID yang sama dikirim ulang (misalnya response sebelumnya tidak sampai ke device)
+// tidak dijalankan lagi; client menerima hasil yang tersimpan di sini.
+@Entity
+@Table(name = "sync_operations",
+    uniqueConstraints = @UniqueConstraint(name = "uk_sync_operations_user_op",
+        columnNames = {"user_id", "client_op_id"}),
+    indexes = @Index(name = "idx_sync_operations_created", columnList = "created_at"))
+public class SyncOperation {
+
+    @Id
+    // Sequence pooled seperti Transaction, agar insert satu batch sync bisa di-batch
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sync_operation_seq")
+    @SequenceGenerator(name = "sync_operation_seq", sequenceName = "sync_operation_seq", allocationSize = 50)
+    @Column(name = "sync_operation_id")
+    private Long syncOperationId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "client_op_id", length = 64, nullable = false)
+    private String clientOpId;
+
+    // CREATE, UPDATE, atau DELETE
+    @Column(name = "op_type", length = 10, nullable = false)
+    private String opType;
+
+    // APPLIED atau REJECTED
+    @Column(name = "status", length = 10, nullable = false)
+    private String status;
+
+    // Status HTTP yang setara dengan hasil operasi (200/201 atau 400/403/404)
+    @Column(name = "http_status", nullable = false)
+    private Integer httpStatus;
+
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(name = "message")
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Konstruktor kosong diperlukan oleh JPA
+    public SyncOperation() {}
+
+    public SyncOperation(Long userId, String clientOpId, String opType, String status, Integer httpStatus,
+                         Long transactionId, String message, LocalDateTime createdAt) {
+        this.userId = userId;
+        this.clientOpId = clientOpId;
+        this.opType = opType;
+        this.status = status;
+        this.httpStatus = httpStatus;
+        this.transactionId = transactionId;
+        this.message = message;
+        this.createdAt = createdAt;
+    }
+
+    // Getters & Setters
+    public Long getSyncOperationId() {
+        return syncOperationId;
+    }
+
+    public void setSyncOperationId(Long syncOperationId) {
+        this.syncOperationId = syncOperationId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getClientOpId() {
+        return clientOpId;
+    }
+
+    public void setClientOpId(String clientOpId) {
+        this.clientOpId = clientOpId;
+    }
+
+    public String getOpType() {
+        return opType;
+    }
+
+    public void setOpType(String opType) {
+        this.opType = opType;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getHttpStatus() {
+        return httpStatus;
+    }
+
+    public void setHttpStatus(Integer httpStatus) {
+        this.httpStatus = httpStatus;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -4,15 +4,22 @@ import jakarta.persistence.*;
 import java.util.Date;
 
 @Entity
-@Table(name = "token_blacklist")
+@Table(name = "token_blacklist",
+       uniqueConstraints = @UniqueConstraint(name = "uk_token_blacklist_hash", columnNames = "token_hash"),
+       indexes = @Index(name = "idx_token_blacklist_expiry", columnList = "expiry_date"))
 public class TokenBlacklist {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(name = "token", length = 1000)
-    private String token;
+    // SHA-256 dari token mentah (32 byte), token aslinya tidak disimpan
+    @Column(name = "token_hash", columnDefinition = "BINARY(32)", nullable = false)
+    private byte[] tokenHash;
+
+    // Claim jti token; null untuk token lama yang dibuat sebelum jti ada
+    @Column(name = "jti", length = 36)
+    private String jti;
     
     @Column(name = "user_id")
     private Long userId;
@@ -26,8 +33,9 @@ public class TokenBlacklist {
     // Constructors
     public TokenBlacklist() {}
     
-    public TokenBlacklist(String token, Long userId, Date expiryDate) {
-        this.token = token;
+    public TokenBlacklist(byte[] tokenHash, String jti, Long userId, Date expiryDate) {
+        this.tokenHash = tokenHash;
+        this.jti = jti;
         this.userId = userId;
         this.expiryDate = expiryDate;
         this.blacklistedAt = new Date();
@@ -42,12 +50,20 @@ public class TokenBlacklist {
         this.id = id;
     }
     
-    public String getToken() {
-        return token;
+    public byte[] getTokenHash() {
+        return tokenHash;
+    }
+    
+    public void setTokenHash(byte[] tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+    
+    public String getJti() {
+        return jti;
     }
     
-    public void setToken(String token) {
-        this.token = token;
+    public void setJti(String jti) {
+        this.jti = jti;
     }
     
     public Long getUserId() {
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
@@ -13,7 +17,12 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    // Index untuk keyset pagination & daftar transaksi per user
+    @Index(name = "idx_transactions_user_date_id", columnList = "user_id, is_deleted, transaction_date, transaction_id"),
+    // Index untuk feed perubahan POST /api/transactions/sync (cursor updated_at, transaction_id)
+    @Index(name = "idx_transactions_user_updated", columnList = "user_id, updated_at, transaction_id")
+})
 @SQLDelete(sql = "UPDATE transactions SET is_deleted = true WHERE transaction_id = ?")
 @Where(clause = "is_deleted = false")
 @JsonIdentityInfo(
@@ -21,7 +30,11 @@ import com.fasterxml.jackson.annotation.ObjectIdGenerators;
   property = "transactionId")
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // ID dari sequence dengan pooled optimizer: satu round-trip mengalokasikan 50 ID, sehingga insert
+    // bisa di-batch (IDENTITY mematikan JDBC batching Hibernate). MySQL tidak punya sequence, jadi
+    // Hibernate memakai tabel transaction_seq (db/mysql/006_transactions_id_sequence.sql).
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 50)
     @Column(name = "transaction_id")
     @JsonProperty("transactionId")
     private Long transactionId;
@@ -45,6 +58,11 @@ public class Transaction {
     @JsonProperty("isDeleted")
     private Boolean isDeleted = false;
 
+    // Waktu perubahan terakhir (UTC, presisi mikrodetik), termasuk soft delete; dasar cursor sync client
+    @Column(name = "updated_at", nullable = false)
+    @JsonProperty("updatedAt")
+    private LocalDateTime updatedAt;
+
     // Relasi many-to-one dengan Category
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
@@ -132,6 +150,31 @@ public class Transaction {
         this.user = user;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    // Diisi setiap insert/update lewat JPA; UPDATE native (cascade kategori) mengisi kolom ini sendiri
+    @PrePersist
+    @PreUpdate
+    void touchUpdatedAt() {
+        updatedAt = currentTimestamp();
+    }
+
+    // Nilai updated_at untuk saat ini: UTC, dipotong ke mikrodetik agar sama persis dengan yang tersimpan
+    public static LocalDateTime currentTimestamp() {
+        return currentTimestamp(Clock.systemUTC());
+    }
+
+    // Sama seperti currentTimestamp(), dengan waktu dari clock yang diberikan
+    public static LocalDateTime currentTimestamp(Clock clock) {
+        return LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+    }
+
     // Helper method untuk mendapatkan tipe transaksi
     @JsonProperty("transactionType")
     public String getTransactionType() {
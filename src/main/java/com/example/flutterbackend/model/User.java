@@ -47,6 +47,11 @@ public class User {
     @JsonProperty("isDeleted")
     private Boolean isDeleted = false;
 
+    // Versi token: dinaikkan untuk mencabut semua token user sekaligus (logout semua sesi, hapus akun)
+    @Column(name = "token_version", nullable = false)
+    @JsonIgnore
+    private Long tokenVersion = 0L;
+
     // Relasi one-to-many dengan Transaction
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore // Hindari circular reference
@@ -108,6 +113,14 @@ public class User {
         this.isDeleted = isDeleted; 
     }
 
+    public Long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(Long tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     public List<Transaction> getUserTransactions() { 
         return userTransactions; 
     }
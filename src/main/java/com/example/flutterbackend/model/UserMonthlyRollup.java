@@ -0,0 +1,121 @@
+package com.example.flutterbackend.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+// Ringkasan income/expense per user, per bulan, per kategori.
+// Diperbarui secara incremental setiap kali transaksi ditulis, sehingga summary
+// bulanan/tahunan cukup membaca O(bulan) baris, bukan O(transaksi).
+@Entity
+@Table(name = "user_monthly_rollup",
+    uniqueConstraints = @UniqueConstraint(name = "uk_rollup_user_month_category",
+        columnNames = {"user_id", "rollup_month", "category_id"}),
+    indexes = @Index(name = "idx_rollup_category", columnList = "category_id"))
+public class UserMonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long rollupId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Bulan dalam format yyyyMM, misalnya 202401
+    @Column(name = "rollup_month", nullable = false)
+    private Integer rollupMonth;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "income", precision = 19, scale = 2, nullable = false)
+    private BigDecimal income = BigDecimal.ZERO;
+
+    @Column(name = "expense", precision = 19, scale = 2, nullable = false)
+    private BigDecimal expense = BigDecimal.ZERO;
+
+    @Column(name = "tx_count", nullable = false)
+    private Long transactionCount = 0L;
+
+    // Konstruktor kosong diperlukan oleh JPA
+    public UserMonthlyRollup() {}
+
+    public UserMonthlyRollup(Long userId, Integer rollupMonth, Long categoryId,
+                             BigDecimal income, BigDecimal expense, Long transactionCount) {
+        this.userId = userId;
+        this.rollupMonth = rollupMonth;
+        this.categoryId = categoryId;
+        this.income = income;
+        this.expense = expense;
+        this.transactionCount = transactionCount;
+    }
+
+    // Getters & Setters
+    public Long getRollupId() {
+        return rollupId;
+    }
+
+    public void setRollupId(Long rollupId) {
+        this.rollupId = rollupId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Integer getRollupMonth() {
+        return rollupMonth;
+    }
+
+    public void setRollupMonth(Integer rollupMonth) {
+        this.rollupMonth = rollupMonth;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public BigDecimal getIncome() {
+        return income;
+    }
+
+    public void setIncome(BigDecimal income) {
+        this.income = income;
+    }
+
+    public BigDecimal getExpense() {
+        return expense;
+    }
+
+    public void setExpense(BigDecimal expense) {
+        this.expense = expense;
+    }
+
+    public Long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(Long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    @Override
+    public String toString() {
+        return "UserMonthlyRollup{" +
+                "userId=" + userId +
+                ", rollupMonth=" + rollupMonth +
+                ", categoryId=" + categoryId +
+                ", income=" + income +
+                ", expense=" + expense +
+                ", transactionCount=" + transactionCount +
+                '}';
+    }
+}
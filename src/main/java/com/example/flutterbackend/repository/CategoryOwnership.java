@@ -0,0 +1,13 @@
+package com.example.flutterbackend.repository;
+
+// Projection kategori aktif untuk pengecekan kepemilikan (tanpa memuat entity dan user-nya)
+public interface CategoryOwnership {
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    Boolean getIsExpense();
+
+    Long getUserId();
+}
@@ -44,6 +44,12 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     @Query(value = "SELECT * FROM categories WHERE category_id = :categoryId", nativeQuery = true)
     Optional<Category> findByIdIncludeDeleted(@Param("categoryId") Long categoryId);
 
+    // Pemilik dan tipe kategori aktif berdasarkan ID, langsung dari tabel (fallback saat index kategori basi)
+    @Query(value = "SELECT category_id AS categoryId, category_name AS categoryName, is_expense AS isExpense, " +
+                   "user_id AS userId FROM categories WHERE category_id = :categoryId AND is_deleted = false",
+           nativeQuery = true)
+    Optional<CategoryOwnership> findActiveOwnershipById(@Param("categoryId") Long categoryId);
+
     // Cari kategori income berdasarkan user (isExpense = false)
     @Query("SELECT c FROM Category c WHERE c.createdBy = :user AND c.isExpense = false AND c.isDeleted = false")
     List<Category> findIncomeCategoriesByUser(@Param("user") User user);
@@ -0,0 +1,11 @@
+package com.example.flutterbackend.repository;
+
+import java.math.BigDecimal;
+
+// Projection hasil agregasi income & expense dalam satu query
+public interface IncomeExpenseTotals {
+
+    BigDecimal getTotalIncome();
+
+    BigDecimal getTotalExpense();
+}
@@ -0,0 +1,27 @@
+package com.example.flutterbackend.repository;
+
+import com.example.flutterbackend.model.SyncOperation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SyncOperationRepository extends JpaRepository<SyncOperation, Long> {
+
+    // Operasi yang sudah pernah diproses untuk user ini (satu query per batch sync, lewat uk_sync_operations_user_op)
+    List<SyncOperation> findByUserIdAndClientOpIdIn(Long userId, Collection<String> clientOpIds);
+
+    // Hapus maksimal 'limit' hasil operasi yang lebih tua dari cutoff (range scan idx_sync_operations_created).
+    // Transaksi sendiri per batch agar lock tidak ditahan selama seluruh pembersihan.
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM sync_operations WHERE created_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteCreatedBeforeBatch(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -1,10 +1,13 @@
 package com.example.flutterbackend.repository;
 
 import com.example.flutterbackend.model.TokenBlacklist;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
@@ -12,17 +15,25 @@ import java.util.List;
 @Repository
 public interface TokenBlacklistRepository extends JpaRepository<TokenBlacklist, Long> {
     
-    // Check if token exists in blacklist
-    boolean existsByToken(String token);
+    // Check if token exists in blacklist (lookup lewat unique index token_hash)
+    boolean existsByTokenHash(byte[] tokenHash);
     
-    // Find by token
-    TokenBlacklist findByToken(String token);
+    // Find by token hash
+    TokenBlacklist findByTokenHash(byte[] tokenHash);
     
     // Find all expired tokens
     @Query("SELECT t FROM TokenBlacklist t WHERE t.expiryDate < :now")
     List<TokenBlacklist> findAllExpired(@Param("now") Date now);
     
-    // Delete all expired tokens
-    @Query("DELETE FROM TokenBlacklist t WHERE t.expiryDate < :now")
-    void deleteAllExpired(@Param("now") Date now);
+    // Token yang masih berlaku dan di-blacklist sejak waktu tertentu, per batch (keyset berdasarkan id).
+    // Dipakai untuk warm-up dan sinkronisasi index blacklist in-memory.
+    @Query("SELECT t FROM TokenBlacklist t WHERE t.blacklistedAt >= :since AND t.expiryDate > :now AND t.id > :afterId ORDER BY t.id")
+    List<TokenBlacklist> findActiveSince(@Param("since") Date since, @Param("now") Date now, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Hapus maksimal 'limit' token kedaluwarsa (range scan idx_token_blacklist_expiry).
+    // Transaksi sendiri per batch agar lock tidak ditahan selama seluruh pembersihan.
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM token_blacklist WHERE expiry_date < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Date now, @Param("limit") int limit);
 }
@@ -0,0 +1,25 @@
+package com.example.flutterbackend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Projection satu baris feed perubahan sync (termasuk transaksi yang sudah di-soft delete)
+public interface TransactionChange {
+
+    Long getTransactionId();
+
+    BigDecimal getTransactionAmount();
+
+    String getTransactionDescription();
+
+    LocalDate getTransactionDate();
+
+    Long getCategoryId();
+
+    Boolean getIsDeleted();
+
+    Boolean getIsExpense();
+
+    LocalDateTime getUpdatedAt();
+}
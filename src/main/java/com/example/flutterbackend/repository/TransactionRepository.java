@@ -1,17 +1,27 @@
 package com.example.flutterbackend.repository;
 
 import com.example.flutterbackend.model.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+
+    String REPORT_FETCH_SIZE = "500";
     
     // Ambil semua transaksi berdasarkan userId (yang tidak dihapus)
     @Query("SELECT t FROM Transaction t WHERE t.user.userId = :userId AND t.isDeleted = false ORDER BY t.transactionDate DESC")
@@ -25,6 +35,13 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     @Query("SELECT COALESCE(SUM(t.transactionAmount), 0.0) FROM Transaction t WHERE t.user.userId = :userId AND t.transactionDate BETWEEN :startDate AND :endDate AND t.category.isExpense = true AND t.isDeleted = false")
     BigDecimal sumExpenseByUserIdAndDateRange(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
+    // Sum income & expense sekaligus (satu scan, conditional SUM berdasarkan category.isExpense)
+    @Query("SELECT COALESCE(SUM(CASE WHEN c.isExpense = false THEN t.transactionAmount ELSE 0 END), 0) AS totalIncome, " +
+           "COALESCE(SUM(CASE WHEN c.isExpense = true THEN t.transactionAmount ELSE 0 END), 0) AS totalExpense " +
+           "FROM Transaction t JOIN t.category c " +
+           "WHERE t.user.userId = :userId AND t.transactionDate BETWEEN :startDate AND :endDate AND t.isDeleted = false")
+    IncomeExpenseTotals sumTotalsByUserIdAndDateRange(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
     // Query untuk mendapatkan total transaksi berdasarkan user (untuk summary keseluruhan)
     @Query("SELECT COALESCE(SUM(t.transactionAmount), 0.0) FROM Transaction t WHERE t.user.userId = :userId AND t.category.isExpense = false AND t.isDeleted = false")
     BigDecimal sumIncomeByUserId(@Param("userId") Long userId);
@@ -41,9 +58,58 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     @Query("SELECT t FROM Transaction t WHERE t.user.userId = :userId AND t.transactionDate BETWEEN :startDate AND :endDate AND t.isDeleted = false ORDER BY t.transactionDate DESC")
     List<Transaction> findByUserIdAndDateRange(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
-    // Query untuk mendapatkan transaksi terbaru berdasarkan user (untuk dashboard)
-    @Query("SELECT t FROM Transaction t WHERE t.user.userId = :userId AND t.isDeleted = false ORDER BY t.transactionDate DESC, t.transactionId DESC")
-    List<Transaction> findRecentTransactionsByUserId(@Param("userId") Long userId);
+    // Versi streaming untuk ekspor: dibaca lewat cursor JDBC per REPORT_FETCH_SIZE baris, bukan List penuh.
+    // Harus dipanggil di dalam transaksi dan Stream wajib ditutup setelah dipakai.
+    // Catatan MySQL: fetch size positif hanya di-stream oleh Connector/J jika URL memakai useCursorFetch=true.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = REPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user.userId = :userId AND t.transactionDate BETWEEN :startDate AND :endDate AND t.isDeleted = false ORDER BY t.transactionDate DESC, t.transactionId DESC")
+    Stream<Transaction> streamByUserIdAndDateRange(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
-    
+    // Top-N transaksi terbaru (LIMIT di database lewat Pageable), kategori ikut di-fetch
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user.userId = :userId AND t.isDeleted = false ORDER BY t.transactionDate DESC, t.transactionId DESC")
+    List<Transaction> findRecentTransactionsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Keyset pagination: halaman pertama, urut (transactionDate, transactionId) menurun
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user.userId = :userId AND t.isDeleted = false ORDER BY t.transactionDate DESC, t.transactionId DESC")
+    List<Transaction> findPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Keyset pagination: halaman berikutnya setelah posisi cursor (transactionDate, transactionId)
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user.userId = :userId AND t.isDeleted = false " +
+           "AND (t.transactionDate < :cursorDate OR (t.transactionDate = :cursorDate AND t.transactionId < :cursorId)) " +
+           "ORDER BY t.transactionDate DESC, t.transactionId DESC")
+    List<Transaction> findPageByUserIdAfterCursor(@Param("userId") Long userId, @Param("cursorDate") LocalDate cursorDate,
+                                                  @Param("cursorId") Long cursorId, Pageable pageable);
+
+    // Soft delete / restore transaksi satu kategori, maksimal 'limit' baris per statement.
+    // Native agar tidak terkena @Where (restore perlu menyentuh baris is_deleted = true);
+    // persistence context di-flush sebelum dan dibersihkan setelahnya.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE transactions SET is_deleted = :deleted, updated_at = :updatedAt " +
+                   "WHERE category_id = :categoryId AND is_deleted <> :deleted LIMIT :limit",
+           nativeQuery = true)
+    int updateDeletedByCategoryIdBatch(@Param("categoryId") Long categoryId, @Param("deleted") boolean deleted,
+                                       @Param("updatedAt") LocalDateTime updatedAt, @Param("limit") int limit);
+
+    // Transaksi berdasarkan ID termasuk yang sudah di-soft delete (native: tidak terkena @Where)
+    @Query(value = "SELECT * FROM transactions WHERE transaction_id IN (:ids)", nativeQuery = true)
+    List<Transaction> findAllByIdIncludeDeleted(@Param("ids") Collection<Long> ids);
+
+    // Feed perubahan untuk sync: baris user yang berubah setelah posisi cursor (updatedAt, transactionId)
+    // sampai batas 'until', urut posisi cursor; range scan pada idx_transactions_user_updated.
+    // Native agar transaksi yang sudah di-soft delete ikut terkirim (client perlu menghapusnya).
+    @Query(value = "SELECT t.transaction_id AS transactionId, t.transaction_amount AS transactionAmount, " +
+                   "t.transaction_description AS transactionDescription, t.transaction_date AS transactionDate, " +
+                   "t.category_id AS categoryId, t.is_deleted AS isDeleted, c.is_expense AS isExpense, t.updated_at AS updatedAt " +
+                   "FROM transactions t JOIN categories c ON c.category_id = t.category_id " +
+                   "WHERE t.user_id = :userId AND t.updated_at >= :sinceTime AND t.updated_at <= :until " +
+                   "AND (t.updated_at > :sinceTime OR t.transaction_id > :sinceId) " +
+                   "ORDER BY t.updated_at, t.transaction_id LIMIT :limit",
+           nativeQuery = true)
+    List<TransactionChange> findChangesSince(@Param("userId") Long userId, @Param("sinceTime") LocalDateTime sinceTime,
+                                             @Param("sinceId") Long sinceId, @Param("until") LocalDateTime until,
+                                             @Param("limit") int limit);
 }
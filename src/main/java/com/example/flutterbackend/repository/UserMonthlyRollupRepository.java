@@ -0,0 +1,101 @@
+package com.example.flutterbackend.repository;
+
+import com.example.flutterbackend.model.UserMonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface UserMonthlyRollupRepository extends JpaRepository<UserMonthlyRollup, Long> {
+
+    // Tambahkan delta ke baris rollup (user, bulan, kategori), buat barisnya jika belum ada, dalam satu statement.
+    // Atomik terhadap penulisan pertama yang bersamaan lewat uk_rollup_user_month_category (MySQL).
+    @Modifying
+    @Query(value = "INSERT INTO user_monthly_rollup (user_id, rollup_month, category_id, income, expense, tx_count) " +
+           "VALUES (:userId, :rollupMonth, :categoryId, :income, :expense, :count) " +
+           "ON DUPLICATE KEY UPDATE income = income + VALUES(income), expense = expense + VALUES(expense), " +
+           "tx_count = tx_count + VALUES(tx_count)",
+           nativeQuery = true)
+    int upsertDelta(@Param("userId") Long userId, @Param("rollupMonth") Integer rollupMonth, @Param("categoryId") Long categoryId,
+                    @Param("income") BigDecimal income, @Param("expense") BigDecimal expense, @Param("count") Long count);
+
+    // Sama dengan upsertDelta untuk H2 (test/lokal), yang tidak mendukung ON DUPLICATE KEY di mode default
+    @Modifying
+    @Query(value = "MERGE INTO user_monthly_rollup r " +
+           "USING (SELECT CAST(:userId AS BIGINT) AS user_id, CAST(:rollupMonth AS INT) AS rollup_month, " +
+           "CAST(:categoryId AS BIGINT) AS category_id, CAST(:income AS DECIMAL(19, 2)) AS income, " +
+           "CAST(:expense AS DECIMAL(19, 2)) AS expense, CAST(:count AS BIGINT) AS tx_count) d " +
+           "ON r.user_id = d.user_id AND r.rollup_month = d.rollup_month AND r.category_id = d.category_id " +
+           "WHEN MATCHED THEN UPDATE SET income = r.income + d.income, expense = r.expense + d.expense, " +
+           "tx_count = r.tx_count + d.tx_count " +
+           "WHEN NOT MATCHED THEN INSERT (user_id, rollup_month, category_id, income, expense, tx_count) " +
+           "VALUES (d.user_id, d.rollup_month, d.category_id, d.income, d.expense, d.tx_count)",
+           nativeQuery = true)
+    int mergeDelta(@Param("userId") Long userId, @Param("rollupMonth") Integer rollupMonth, @Param("categoryId") Long categoryId,
+                   @Param("income") BigDecimal income, @Param("expense") BigDecimal expense, @Param("count") Long count);
+
+    // Jumlah transaksi aktif user dari baris rollup (satu baris per bulan x kategori), tanpa membaca tabel transactions
+    @Query("SELECT COALESCE(SUM(r.transactionCount), 0) FROM UserMonthlyRollup r WHERE r.userId = :userId")
+    long sumTransactionCountByUserId(@Param("userId") Long userId);
+
+    // Total income & expense user untuk rentang bulan (yyyyMM, inklusif)
+    @Query("SELECT COALESCE(SUM(r.income), 0) AS totalIncome, COALESCE(SUM(r.expense), 0) AS totalExpense " +
+           "FROM UserMonthlyRollup r WHERE r.userId = :userId AND r.rollupMonth BETWEEN :fromMonth AND :toMonth")
+    IncomeExpenseTotals sumTotalsByUserIdAndMonthRange(@Param("userId") Long userId, @Param("fromMonth") Integer fromMonth,
+                                                       @Param("toMonth") Integer toMonth);
+
+    // Hapus rollup milik satu kategori
+    @Modifying
+    @Query("DELETE FROM UserMonthlyRollup r WHERE r.categoryId = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Long categoryId);
+
+    // Hapus rollup milik satu user
+    @Modifying
+    @Query("DELETE FROM UserMonthlyRollup r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // Hapus semua rollup (untuk rebuild penuh)
+    @Modifying
+    @Query("DELETE FROM UserMonthlyRollup r")
+    int deleteAllRollups();
+
+    // Hitung ulang rollup dari tabel transactions untuk satu kategori
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO user_monthly_rollup (user_id, rollup_month, category_id, income, expense, tx_count) " +
+           "SELECT t.user_id, YEAR(t.transaction_date) * 100 + MONTH(t.transaction_date), t.category_id, " +
+           "SUM(CASE WHEN c.is_expense = false THEN t.transaction_amount ELSE 0 END), " +
+           "SUM(CASE WHEN c.is_expense = true THEN t.transaction_amount ELSE 0 END), COUNT(*) " +
+           "FROM transactions t JOIN categories c ON c.category_id = t.category_id " +
+           "WHERE t.category_id = :categoryId AND t.user_id IS NOT NULL AND t.is_deleted = false AND c.is_deleted = false " +
+           "GROUP BY t.user_id, YEAR(t.transaction_date) * 100 + MONTH(t.transaction_date), t.category_id",
+           nativeQuery = true)
+    int rebuildForCategory(@Param("categoryId") Long categoryId);
+
+    // Hitung ulang rollup dari tabel transactions untuk satu user
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO user_monthly_rollup (user_id, rollup_month, category_id, income, expense, tx_count) " +
+           "SELECT t.user_id, YEAR(t.transaction_date) * 100 + MONTH(t.transaction_date), t.category_id, " +
+           "SUM(CASE WHEN c.is_expense = false THEN t.transaction_amount ELSE 0 END), " +
+           "SUM(CASE WHEN c.is_expense = true THEN t.transaction_amount ELSE 0 END), COUNT(*) " +
+           "FROM transactions t JOIN categories c ON c.category_id = t.category_id " +
+           "WHERE t.user_id = :userId AND t.is_deleted = false AND c.is_deleted = false " +
+           "GROUP BY t.user_id, YEAR(t.transaction_date) * 100 + MONTH(t.transaction_date), t.category_id",
+           nativeQuery = true)
+    int rebuildForUser(@Param("userId") Long userId);
+
+    // Hitung ulang seluruh rollup dari tabel transactions
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO user_monthly_rollup (user_id, rollup_month, category_id, income, expense, tx_count) " +
+           "SELECT t.user_id, YEAR(t.transaction_date) * 100 + MONTH(t.transaction_date), t.category_id, " +
+           "SUM(CASE WHEN c.is_expense = false THEN t.transaction_amount ELSE 0 END), " +
+           "SUM(CASE WHEN c.is_expense = true THEN t.transaction_amount ELSE 0 END), COUNT(*) " +
+           "FROM transactions t JOIN categories c ON c.category_id = t.category_id " +
+           "WHERE t.user_id IS NOT NULL AND t.is_deleted = false AND c.is_deleted = false " +
+           "GROUP BY t.user_id, YEAR(t.transaction_date) * 100 + MONTH(t.transaction_date), t.category_id",
+           nativeQuery = true)
+    int rebuildAll();
+}
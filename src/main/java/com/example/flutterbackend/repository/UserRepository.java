@@ -2,6 +2,7 @@ package com.example.flutterbackend.repository;
 
 import com.example.flutterbackend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -37,6 +38,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.userEmail = :userEmail")
     Optional<User> findByUserEmailIncludeDeleted(@Param("userEmail") String userEmail);
 
+    // Naikkan versi token user secara atomik (mencabut semua token yang sudah terbit)
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.userId = :userId")
+    int incrementTokenVersion(@Param("userId") Long userId);
+
     // Cari user berdasarkan nama (case insensitive)
     @Query("SELECT u FROM User u WHERE LOWER(u.userName) LIKE LOWER(CONCAT('%', :userName, '%')) AND u.isDeleted = false")
     List<User> findByUserNameContainingIgnoreCase(@Param("userName") String userName);
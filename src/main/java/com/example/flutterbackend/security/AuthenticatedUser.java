@@ -0,0 +1,15 @@
+package com.example.flutterbackend.security;
+
+// Principal ringan dan immutable yang disimpan di SecurityContext sebagai pengganti entity User.
+// Di-cache per userId oleh PrincipalCache agar request yang terautentikasi tidak perlu query user.
+public record AuthenticatedUser(Long userId, String email, boolean deleted, long tokenVersion) {
+
+    // Penanda userId yang sudah tidak ada (ikut di-cache agar request berulang tidak ke database)
+    static AuthenticatedUser missing(Long userId) {
+        return new AuthenticatedUser(userId, null, true, 0L);
+    }
+
+    public boolean isActive() {
+        return !deleted;
+    }
+}
@@ -1,38 +1,40 @@
 package com.example.flutterbackend.security;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
-import com.example.flutterbackend.model.User;
-
 import jakarta.servlet.http.HttpServletRequest;
 
 @Component
 public class AuthenticationHelper {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthenticationHelper.class);
+
     // Get current authenticated user
-    public User getCurrentUser() {
+    public AuthenticatedUser getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        System.out.println("Current authentication: " + (authentication != null ? authentication.getName() : "null"));
-        if (authentication != null && authentication.getPrincipal() instanceof User) {
-            return (User) authentication.getPrincipal();
+        log.debug("Current authentication: {}", (authentication != null ? authentication.getName() : "null"));
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser) {
+            return (AuthenticatedUser) authentication.getPrincipal();
         }
         return null;
     }
 
     // Get current user ID
     public Long getCurrentUserId() {
-        User user = getCurrentUser();
-        Long userId = user != null ? user.getUserId() : null;
-        System.out.println("Current user ID: " + userId);
+        AuthenticatedUser user = getCurrentUser();
+        Long userId = user != null ? user.userId() : null;
+        log.debug("Current user ID: {}", userId);
         return userId;
     }
 
     // Get user ID from request attributes (set by JWT filter)
     public Long getUserIdFromRequest(HttpServletRequest request) {
         Object userId = request.getAttribute("userId");
-        System.out.println("User ID from request attribute: " + userId);
+        log.debug("User ID from request attribute: {}", userId);
         if (userId instanceof Integer) {
             return ((Integer) userId).longValue();
         } else if (userId instanceof Long) {
@@ -44,7 +46,7 @@ public class AuthenticationHelper {
     // Get user email from request attributes
     public String getUserEmailFromRequest(HttpServletRequest request) {
         Object userEmail = request.getAttribute("userEmail");
-        System.out.println("User email from request attribute: " + userEmail);
+        log.debug("User email from request attribute: {}", userEmail);
         return userEmail instanceof String ? (String) userEmail : null;
     }
 
@@ -52,7 +54,7 @@ public class AuthenticationHelper {
     public boolean isResourceOwner(Long resourceUserId) {
         Long currentUserId = getCurrentUserId();
         boolean isOwner = currentUserId != null && currentUserId.equals(resourceUserId);
-        System.out.println("Resource owner check - Current: " + currentUserId + ", Resource: " + resourceUserId + ", IsOwner: " + isOwner);
+        log.debug("Resource owner check - Current: {}, Resource: {}, IsOwner: {}", currentUserId, resourceUserId, isOwner);
         return isOwner;
     }
 
@@ -60,7 +62,7 @@ public class AuthenticationHelper {
     public boolean validateUserAccess(Long pathUserId, HttpServletRequest request) {
         Long authenticatedUserId = getUserIdFromRequest(request);
         boolean hasAccess = authenticatedUserId != null && authenticatedUserId.equals(pathUserId);
-        System.out.println("User access validation - Authenticated: " + authenticatedUserId + ", Path: " + pathUserId + ", HasAccess: " + hasAccess);
+        log.debug("User access validation - Authenticated: {}, Path: {}, HasAccess: {}", authenticatedUserId, pathUserId, hasAccess);
         return hasAccess;
     }
 
@@ -70,7 +72,7 @@ public class AuthenticationHelper {
         boolean authenticated = authentication != null && authentication.isAuthenticated() && 
                !(authentication.getPrincipal() instanceof String && 
                  "anonymousUser".equals(authentication.getPrincipal()));
-        System.out.println("Is authenticated: " + authenticated);
+        log.debug("Is authenticated: {}", authenticated);
         return authenticated;
     }
 }
@@ -0,0 +1,90 @@
+package com.example.flutterbackend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Cache token yang sudah diverifikasi: SHA-256(token) -> claims.
+// Hit berarti string token yang sama sudah dicek signature-nya, jadi verifikasi HMAC dilewati.
+// Entry kedaluwarsa bersama token-nya. Pencabutan (blacklist) dicek terpisah oleh filter, tidak di-cache di sini.
+@Component
+public class JwtClaimsCache {
+
+    private final JwtUtil jwtUtil;
+    private final JwtKeyRing keyRing;
+    private final Cache<TokenDigest, TokenClaims> cache;
+
+    @Autowired
+    public JwtClaimsCache(JwtUtil jwtUtil, JwtKeyRing keyRing, @Value("${app.jwt-cache.max-size:10000}") long maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.keyRing = keyRing;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    // Claims token yang sudah diverifikasi; parsing dan verifikasi hanya saat cache miss.
+    // Token tidak valid/kedaluwarsa melempar exception yang sama dengan JwtUtil.parseToken.
+    public TokenClaims verify(String token) {
+        return verify(token, TokenDigest.of(token));
+    }
+
+    // Varian untuk pemanggil yang sudah menghitung digest (JwtFilter memakainya juga untuk cek blacklist)
+    public TokenClaims verify(String token, TokenDigest key) {
+        TokenClaims claims = cache.getIfPresent(key);
+        // Hit hanya dipercaya selama signing key-nya masih ada di key ring (belum dipensiunkan)
+        if (claims != null && !claims.isExpired(Instant.now()) && keyRing.verificationKey(claims.keyId()) != null) {
+            return claims;
+        }
+        claims = jwtUtil.parseToken(token);
+        cache.put(key, claims);
+        return claims;
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(TokenDigest.of(token));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public Cache<TokenDigest, TokenClaims> nativeCache() {
+        return cache;
+    }
+
+    // Entry hidup sampai claim exp token-nya
+    private static class TokenExpiry implements Expiry<TokenDigest, TokenClaims> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, TokenClaims claims, long currentTime) {
+            if (claims.expiresAt() == null) {
+                return 0L;
+            }
+            return Math.max(0L, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, TokenClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, TokenClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
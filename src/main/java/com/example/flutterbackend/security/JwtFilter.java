@@ -1,5 +1,10 @@
 package com.example.flutterbackend.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -7,8 +12,7 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.example.flutterbackend.model.User;
-import com.example.flutterbackend.repository.UserRepository;
+import com.example.flutterbackend.config.CorrelationIdFilter;
 import com.example.flutterbackend.service.TokenBlacklistService;
 
 import jakarta.servlet.FilterChain;
@@ -18,19 +22,35 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtFilter.class);
+
     @Autowired
-    private JwtUtil jwtUtil;
+    private JwtClaimsCache jwtClaimsCache;
 
     @Autowired
-    private UserRepository userRepository;
+    private PrincipalCache principalCache;
     
     @Autowired
     private TokenBlacklistService tokenBlacklistService;
 
+    private Timer blacklistCheckTimer;
+    private Timer verifyTimer;
+
+    @Autowired
+    void registerMetrics(MeterRegistry meterRegistry) {
+        blacklistCheckTimer = Timer.builder("app.token_blacklist.check")
+                .description("Blacklist lookup per authenticated request")
+                .register(meterRegistry);
+        verifyTimer = Timer.builder("app.jwt.verify")
+                .description("JWT verification including the claims cache")
+                .register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
@@ -39,79 +59,90 @@ public class JwtFilter extends OncePerRequestFilter {
         final String requestURI = request.getRequestURI();
         final String method = request.getMethod();
 
-        System.out.println("=== JWT Filter Processing ===");
-        System.out.println("Request: " + method + " " + requestURI);
-        System.out.println("Authorization Header: " + (authorizationHeader != null ? "Present" : "Not Present"));
+        log.debug("JWT Filter Processing");
+        log.debug("Request: {} {}", method, requestURI);
+        log.debug("Authorization Header: {}", (authorizationHeader != null ? "Present" : "Not Present"));
 
         String userEmail = null;
         String jwt = null;
         Long userId = null;
+        long tokenVersion = 0L;
 
         try {
             // Extract JWT from Authorization header
             if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
                 jwt = authorizationHeader.substring(7);
-                System.out.println("JWT Token extracted, length: " + jwt.length());
+                log.debug("JWT Token extracted, length: {}", jwt.length());
                 
+                // SHA-256 token dihitung sekali, dipakai untuk cek blacklist dan cache claims
+                byte[] tokenSha256 = TokenDigest.sha256(jwt);
+
                 // Check if token is blacklisted
-                if (tokenBlacklistService.isTokenBlacklisted(jwt)) {
-                    System.err.println("Token is blacklisted - access denied");
+                long checkStart = System.nanoTime();
+                boolean blacklisted = tokenBlacklistService.isTokenBlacklisted(tokenSha256);
+                blacklistCheckTimer.record(System.nanoTime() - checkStart, TimeUnit.NANOSECONDS);
+                if (blacklisted) {
+                    log.info("Token is blacklisted - access denied");
                     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                     response.setContentType("application/json");
                     response.getWriter().write("{\"error\":\"Token is blacklisted\"}");
                     return;
                 }
                 
+                // Parse + verifikasi signature/expiry sekali (atau ambil dari cache token yang sudah terverifikasi)
+                long verifyStart = System.nanoTime();
                 try {
-                    userEmail = jwtUtil.extractUsername(jwt);
-                    userId = jwtUtil.extractUserId(jwt);
-                    System.out.println("Extracted - Email: " + userEmail + ", UserId: " + userId);
+                    TokenClaims claims = jwtClaimsCache.verify(jwt, TokenDigest.of(tokenSha256));
+                    userEmail = claims.email();
+                    userId = claims.userId();
+                    tokenVersion = claims.tokenVersion();
+                    log.debug("Extracted - Email: {}, UserId: {}", userEmail, userId);
                 } catch (Exception e) {
-                    System.err.println("Invalid JWT token: " + e.getMessage());
+                    log.debug("Invalid JWT token: {}", e.getMessage());
+                } finally {
+                    verifyTimer.record(System.nanoTime() - verifyStart, TimeUnit.NANOSECONDS);
                 }
             }
 
-            // Validate token and set authentication
+            // Token valid (signature dan expiry sudah dicek di atas), set authentication
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                System.out.println("Validating token for user: " + userEmail);
-                
-                // Validate token
-                if (jwtUtil.validateToken(jwt)) {
-                    System.out.println("Token is valid");
-                    
-                    // Get user from database
-                    User user = userRepository.findByUserEmail(userEmail).orElse(null);
-                    
-                    if (user != null && !user.getIsDeleted()) {
-                        System.out.println("User found and active: " + user.getUserId());
-                        
-                        // Create authentication token
-                        UsernamePasswordAuthenticationToken authToken = 
-                            new UsernamePasswordAuthenticationToken(user, null, new ArrayList<>());
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        
-                        // Set authentication in security context
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                        
-                        // Add userId and token to request attributes for easy access in controllers
-                        request.setAttribute("userId", userId);
-                        request.setAttribute("userEmail", userEmail);
-                        request.setAttribute("jwtToken", jwt); // Add token to request
-                        
-                        System.out.println("Authentication set successfully for user: " + userId);
-                    } else {
-                        System.err.println("User not found or deleted for email: " + userEmail);
-                    }
+                log.debug("Token is valid for user: {}", userEmail);
+
+                // Ambil principal dari cache (query user hanya saat cache miss)
+                AuthenticatedUser principal = userId != null ? principalCache.get(userId) : null;
+
+                // Email harus tetap sama dengan saat token dibuat
+                if (principal != null && principal.isActive() && userEmail.equals(principal.email())
+                        && tokenVersion != principal.tokenVersion()) {
+                    // Semua token user dicabut (logout semua sesi) setelah token ini dibuat
+                    log.info("Token version {} revoked for user: {}", tokenVersion, userId);
+                } else if (principal != null && principal.isActive() && userEmail.equals(principal.email())) {
+                    log.debug("User found and active: {}", principal.userId());
+
+                    // Create authentication token
+                    UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(principal, null, new ArrayList<>());
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                    // Set authentication in security context
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+
+                    // Add userId and token to request attributes for easy access in controllers
+                    request.setAttribute("userId", userId);
+                    request.setAttribute("userEmail", userEmail);
+                    request.setAttribute("jwtToken", jwt); // Add token to request
+                    MDC.put(CorrelationIdFilter.USER_ID, String.valueOf(userId));
+
+                    log.debug("Authentication set successfully for user: {}", userId);
                 } else {
-                    System.err.println("Token validation failed");
+                    log.info("User not found or deleted for email: {}", userEmail);
                 }
             }
         } catch (Exception e) {
-            System.err.println("Cannot set user authentication: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Cannot set user authentication: {}", e.getMessage(), e);
         }
 
-        System.out.println("=== JWT Filter Complete ===");
+        log.debug("JWT Filter Complete");
         chain.doFilter(request, response);
     }
 
@@ -123,9 +154,10 @@ public class JwtFilter extends OncePerRequestFilter {
                            path.equals("/api/users/login") ||
                            path.equals("/error") ||
                            path.startsWith("/uploads/") ||
-                           path.startsWith("/api/debug/");
+                           path.startsWith("/api/debug/") ||
+                           path.startsWith("/actuator/");
         
-        System.out.println("Should skip JWT filter for " + path + ": " + shouldSkip);
+        log.debug("Should skip JWT filter for {}: {}", path, shouldSkip);
         return shouldSkip;
     }
 }
@@ -0,0 +1,137 @@
+package com.example.flutterbackend.security;
+
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Key HMAC untuk JWT, dibuat sekali dan dicari berdasarkan kid.
+// Key dari JWT_SECRET selalu ada dengan kid app.jwt.kid dan juga dipakai untuk token lama tanpa header kid.
+// Key tambahan bisa diberikan lewat file properties opsional (app.jwt.keys-file):
+//   keys.2025-01=...secret...
+//   keys.2025-02=...secret...
+//   active=2025-02
+// File dibaca ulang saat berubah, jadi key baru bisa diaktifkan (dan key lama dipensiunkan) tanpa restart.
+// Simpan key yang dipensiunkan di file sampai semua token yang ditandatanganinya kedaluwarsa.
+@Component
+public final class JwtKeyRing {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private final String primaryKid;
+    private final SecretKey primaryKey;
+    private final Path keysFile;
+    private final AtomicReference<KeySet> current = new AtomicReference<>();
+    private volatile FileTime keysFileModified;
+
+    @Autowired
+    public JwtKeyRing(
+            @Value("${JWT_SECRET}") String secret,
+            @Value("${app.jwt.kid:primary}") String primaryKid,
+            @Value("${app.jwt.keys-file:}") String keysFile) {
+        this.primaryKid = primaryKid;
+        this.primaryKey = deriveKey(secret);
+        this.keysFile = keysFile == null || keysFile.isBlank() ? null : Paths.get(keysFile).toAbsolutePath().normalize();
+        this.current.set(new KeySet(primaryKid, Map.of(primaryKid, primaryKey)));
+        reloadIfChanged();
+    }
+
+    // Key untuk menandatangani token baru
+    public String activeKid() {
+        return current.get().activeKid;
+    }
+
+    public SecretKey activeKey() {
+        KeySet keys = current.get();
+        return keys.keys.get(keys.activeKid);
+    }
+
+    // Key untuk verifikasi token; token tanpa kid memakai key JWT_SECRET. Null untuk kid yang tidak dikenal.
+    public SecretKey verificationKey(String kid) {
+        if (kid == null) {
+            return primaryKey;
+        }
+        return current.get().keys.get(kid);
+    }
+
+    public Set<String> kids() {
+        return current.get().keys.keySet();
+    }
+
+    // Ganti key tambahan dan kid aktif secara atomik; key JWT_SECRET selalu tetap bisa dipakai verifikasi
+    public void install(Map<String, String> secrets, String activeKid) {
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        keys.put(primaryKid, primaryKey);
+        secrets.forEach((kid, secret) -> keys.put(kid, deriveKey(secret)));
+        if (!keys.containsKey(activeKid)) {
+            throw new IllegalArgumentException("Active JWT kid '" + activeKid + "' has no key");
+        }
+        current.set(new KeySet(activeKid, Collections.unmodifiableMap(keys)));
+        log.info("JWT key ring updated: active={}, kids={}", activeKid, keys.keySet());
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.keys-reload-ms:60000}")
+    public void reloadIfChanged() {
+        if (keysFile == null || !Files.isRegularFile(keysFile)) {
+            return;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(keysFile);
+            if (modified.equals(keysFileModified)) {
+                return;
+            }
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(keysFile, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            Map<String, String> secrets = new LinkedHashMap<>();
+            for (String name : properties.stringPropertyNames()) {
+                if (name.startsWith("keys.")) {
+                    secrets.put(name.substring("keys.".length()), properties.getProperty(name));
+                }
+            }
+            install(secrets, properties.getProperty("active", primaryKid).trim());
+            keysFileModified = modified;
+        } catch (IOException | RuntimeException e) {
+            // Pertahankan key set sebelumnya; file yang rusak tidak boleh membuat semua user ter-logout
+            log.warn("Failed to load JWT keys file {}: {}", keysFile, e.getMessage());
+        }
+    }
+
+    private static SecretKey deriveKey(String secret) {
+        try {
+            return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            log.warn("Error generating signing key: {}", e.getMessage());
+            throw new RuntimeException("Failed to generate JWT signing key", e);
+        }
+    }
+
+    private static final class KeySet {
+        private final String activeKid;
+        private final Map<String, SecretKey> keys;
+
+        private KeySet(String activeKid, Map<String, SecretKey> keys) {
+            this.activeKid = activeKid;
+            this.keys = keys;
+        }
+    }
+}
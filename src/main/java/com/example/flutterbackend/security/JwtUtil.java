@@ -1,53 +1,72 @@
 package com.example.flutterbackend.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    @Value("${JWT_SECRET}")
-    private String secret;
-
-    @Value("${jwt.expiration:300000}") // 24 hours in milliseconds
-    private Long expiration;
-
-    // Generate signing key from secret
-    private SecretKey getSigningKey() {
-        try {
-            byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-            return Keys.hmacShaKeyFor(keyBytes);
-        } catch (Exception e) {
-            System.err.println("Error generating signing key: " + e.getMessage());
-            throw new RuntimeException("Failed to generate JWT signing key", e);
-        }
+    private static final Logger log = LoggerFactory.getLogger(JwtUtil.class);
+
+    private final JwtKeyRing keyRing;
+
+    private final Long expiration; // milliseconds
+
+    // Parser thread-safe, dibuat sekali; key dipilih per token berdasarkan header kid
+    private final JwtParser parser;
+
+    @Autowired
+    public JwtUtil(JwtKeyRing keyRing, @Value("${jwt.expiration:300000}") Long expiration) {
+        this.keyRing = keyRing;
+        this.expiration = expiration;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    // jjwt 0.11 mendeklarasikan parameter ini sebagai raw type; JwsHeader<?> tidak meng-override
+                    @Override
+                    @SuppressWarnings("rawtypes")
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = keyRing.verificationKey(header.getKeyId());
+                        if (key == null) {
+                            throw new io.jsonwebtoken.security.SignatureException("Unknown JWT key id: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
     }
 
-    // Generate token dengan user ID dan email
-    public String generateToken(Long userId, String userEmail) {
+    // Claim versi token; harus sama dengan users.token_version saat token dipakai
+    public static final String TOKEN_VERSION_CLAIM = "tv";
+
+    // Generate token dengan user ID, email dan versi token user
+    public String generateToken(Long userId, String userEmail, long tokenVersion) {
         try {
-            System.out.println("=== JwtUtil.generateToken() called ===");
-            System.out.println("Generating token for user ID: " + userId + ", email: " + userEmail);
+            log.debug("JwtUtil.generateToken() called");
+            log.debug("Generating token for user ID: {}, email: {}", userId, userEmail);
             
             Map<String, Object> claims = new HashMap<>();
             claims.put("userId", userId);
             claims.put("userEmail", userEmail);
+            claims.put(TOKEN_VERSION_CLAIM, tokenVersion);
             
             String token = createToken(claims, userEmail);
-            System.out.println("Token generated successfully, length: " + token.length());
+            log.debug("Token generated successfully, length: {}", token.length());
             return token;
         } catch (Exception e) {
-            System.err.println("Error generating JWT token: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error generating JWT token: {}", e.getMessage(), e);
             throw new RuntimeException("JWT token generation failed", e);
         }
     }
@@ -58,22 +77,38 @@ public class JwtUtil {
             return Jwts.builder()
                     .setClaims(claims)
                     .setSubject(subject)
+                    .setId(UUID.randomUUID().toString())
                     .setIssuedAt(new Date(System.currentTimeMillis()))
                     .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                    .signWith(getSigningKey())
+                    .setHeaderParam(JwsHeader.KEY_ID, keyRing.activeKid())
+                    .signWith(keyRing.activeKey())
                     .compact();
         } catch (Exception e) {
-            System.err.println("Error creating JWT token: " + e.getMessage());
+            log.warn("Error creating JWT token: {}", e.getMessage());
             throw new RuntimeException("Failed to create JWT token", e);
         }
     }
 
+    // Parse dan verifikasi token sekali, kembalikan semua claim yang dipakai aplikasi
+    public TokenClaims parseToken(String token) {
+        Jws<Claims> jws = parseJws(token);
+        Claims claims = jws.getBody();
+        return new TokenClaims(
+                toLong(claims.get("userId")),
+                claims.getSubject(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                jws.getHeader().getKeyId(),
+                claims.getId(),
+                tokenVersion(claims.get(TOKEN_VERSION_CLAIM)));
+    }
+
     // Extract username (email) from token
     public String extractUsername(String token) {
         try {
             return extractClaim(token, Claims::getSubject);
         } catch (Exception e) {
-            System.err.println("Error extracting username from token: " + e.getMessage());
+            log.warn("Error extracting username from token: {}", e.getMessage());
             throw new RuntimeException("Failed to extract username from token", e);
         }
     }
@@ -81,27 +116,33 @@ public class JwtUtil {
     // Extract user ID from token
     public Long extractUserId(String token) {
         try {
-            return extractClaim(token, claims -> {
-                Object userId = claims.get("userId");
-                if (userId instanceof Integer) {
-                    return ((Integer) userId).longValue();
-                } else if (userId instanceof Long) {
-                    return (Long) userId;
-                }
-                return null;
-            });
+            return extractClaim(token, claims -> toLong(claims.get("userId")));
         } catch (Exception e) {
-            System.err.println("Error extracting user ID from token: " + e.getMessage());
+            log.warn("Error extracting user ID from token: {}", e.getMessage());
             throw new RuntimeException("Failed to extract user ID from token", e);
         }
     }
 
+    private static Long toLong(Object userId) {
+        if (userId instanceof Integer) {
+            return ((Integer) userId).longValue();
+        } else if (userId instanceof Long) {
+            return (Long) userId;
+        }
+        return null;
+    }
+
+    // Token lama tanpa claim tv dianggap versi 0
+    private static long tokenVersion(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
     // Extract expiration date
     public Date extractExpiration(String token) {
         try {
             return extractClaim(token, Claims::getExpiration);
         } catch (Exception e) {
-            System.err.println("Error extracting expiration from token: " + e.getMessage());
+            log.warn("Error extracting expiration from token: {}", e.getMessage());
             throw new RuntimeException("Failed to extract expiration from token", e);
         }
     }
@@ -114,39 +155,54 @@ public class JwtUtil {
 
     // Extract all claims
     private Claims extractAllClaims(String token) {
+        return parseJws(token).getBody();
+    }
+
+    // Verifikasi signature + expiry dan kembalikan header serta claims
+    private Jws<Claims> parseJws(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            requireCanonicalSignature(token);
+            return parser.parseClaimsJws(token);
         } catch (ExpiredJwtException e) {
-            System.err.println("JWT token has expired: " + e.getMessage());
+            log.debug("JWT token has expired: {}", e.getMessage());
             throw new RuntimeException("JWT token has expired", e);
         } catch (UnsupportedJwtException e) {
-            System.err.println("JWT token is unsupported: " + e.getMessage());
+            log.debug("JWT token is unsupported: {}", e.getMessage());
             throw new RuntimeException("JWT token is unsupported", e);
         } catch (MalformedJwtException e) {
-            System.err.println("JWT token is malformed: " + e.getMessage());
+            log.debug("JWT token is malformed: {}", e.getMessage());
             throw new RuntimeException("JWT token is malformed", e);
         } catch (SecurityException e) {
-            System.err.println("JWT signature validation failed: " + e.getMessage());
+            log.debug("JWT signature validation failed: {}", e.getMessage());
             throw new RuntimeException("JWT signature validation failed", e);
         } catch (IllegalArgumentException e) {
-            System.err.println("JWT token compact of handler are invalid: " + e.getMessage());
+            log.debug("JWT token compact of handler are invalid: {}", e.getMessage());
             throw new RuntimeException("JWT token compact of handler are invalid", e);
         } catch (Exception e) {
-            System.err.println("Unexpected error parsing JWT token: " + e.getMessage());
+            log.debug("Unexpected error parsing JWT token: {}", e.getMessage());
             throw new RuntimeException("Failed to parse JWT token", e);
         }
     }
 
+    // Decoder Base64URL jjwt mengabaikan bit sisa di akhir signature, jadi token + "x" masih lolos verifikasi.
+    // Blacklist dan cache claims memakai SHA-256 dari string token, maka hanya bentuk kanonik yang diterima.
+    private static void requireCanonicalSignature(String token) {
+        int lastDot = token.lastIndexOf('.');
+        if (lastDot < 0) {
+            return; // biar parser yang menolak
+        }
+        String signature = token.substring(lastDot + 1);
+        if (!Encoders.BASE64URL.encode(Decoders.BASE64URL.decode(signature)).equals(signature)) {
+            throw new MalformedJwtException("JWT signature is not canonically encoded");
+        }
+    }
+
     // Check if token is expired
     private Boolean isTokenExpired(String token) {
         try {
             return extractExpiration(token).before(new Date());
         } catch (Exception e) {
-            System.err.println("Error checking token expiration: " + e.getMessage());
+            log.debug("Error checking token expiration: {}", e.getMessage());
             return true; // Consider expired if any error occurs
         }
     }
@@ -157,7 +213,7 @@ public class JwtUtil {
             final String username = extractUsername(token);
             return (username.equals(userEmail) && !isTokenExpired(token));
         } catch (Exception e) {
-            System.err.println("Error validating token: " + e.getMessage());
+            log.debug("Error validating token: {}", e.getMessage());
             return false;
         }
     }
@@ -168,7 +224,7 @@ public class JwtUtil {
             extractAllClaims(token);
             return !isTokenExpired(token);
         } catch (Exception e) {
-            System.err.println("Error validating token: " + e.getMessage());
+            log.debug("Error validating token: {}", e.getMessage());
             return false;
         }
     }
@@ -0,0 +1,76 @@
+package com.example.flutterbackend.security;
+
+import com.example.flutterbackend.model.User;
+import com.example.flutterbackend.repository.UserRepository;
+import com.example.flutterbackend.service.UserAccountChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+// Cache userId -> AuthenticatedUser untuk JwtFilter.
+// Entry di-invalidate setelah commit lewat UserAccountChangedEvent (profil, password, hapus, token version naik),
+// hanya di instance yang memproses perubahan. Instance lain tetap memakai data lama sampai TTL habis, jadi
+// app.principal-cache.ttl-seconds adalah batas waktu logout-semua-sesi/hapus akun berlaku di semua instance.
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, AuthenticatedUser> cache;
+
+    @Autowired
+    public PrincipalCache(
+            UserRepository userRepository,
+            @Value("${app.principal-cache.max-size:10000}") long maxSize,
+            @Value("${app.principal-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public AuthenticatedUser get(Long userId) {
+        return cache.get(userId, this::load);
+    }
+
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    // Invalidasi setelah commit (atau langsung jika tidak ada transaksi aktif)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public Cache<Long, AuthenticatedUser> nativeCache() {
+        return cache;
+    }
+
+    private AuthenticatedUser load(Long userId) {
+        // User yang di-soft delete tersaring oleh @Where di User, jadi dianggap tidak ada
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            return AuthenticatedUser.missing(userId);
+        }
+        return new AuthenticatedUser(user.getUserId(), user.getUserEmail(), Boolean.TRUE.equals(user.getIsDeleted()),
+                user.getTokenVersion() != null ? user.getTokenVersion() : 0L);
+    }
+}
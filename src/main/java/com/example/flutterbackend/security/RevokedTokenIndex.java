@@ -0,0 +1,94 @@
+package com.example.flutterbackend.security;
+
+import com.example.flutterbackend.util.BloomFilter;
+import com.example.flutterbackend.util.TimingWheel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Index in-memory token yang dicabut (blacklist), dicek di setiap request yang terautentikasi.
+// Bloom filter menjawab "pasti tidak dicabut" untuk hampir semua request tanpa menyentuh set atau alokasi;
+// hanya hit Bloom yang dicek ke set digest. Entry keluar dari set saat token-nya kedaluwarsa (lewat
+// hierarchical timing wheel). Bloom filter tidak bisa menghapus, jadi dibangun ulang dari set saat sudah
+// cukup banyak entry kedaluwarsa atau set melebihi kapasitasnya.
+// Tabel token_blacklist tetap menjadi log permanen; TokenBlacklistService mengisi dan menyinkronkan index ini.
+@Component
+public class RevokedTokenIndex {
+
+    private final Set<TokenDigest> revoked = ConcurrentHashMap.newKeySet();
+    private final TimingWheel<TokenDigest> expiryWheel;
+    private final int minBloomCapacity;
+    private final double bloomFalsePositiveRate;
+
+    private volatile BloomFilter bloom;
+    private int expiredSinceRebuild;
+
+    @Autowired
+    public RevokedTokenIndex(
+            @Value("${app.token-blacklist.bloom-expected-insertions:100000}") int bloomExpectedInsertions,
+            @Value("${app.token-blacklist.bloom-false-positive-rate:0.01}") double bloomFalsePositiveRate) {
+        this.minBloomCapacity = bloomExpectedInsertions;
+        this.bloomFalsePositiveRate = bloomFalsePositiveRate;
+        this.bloom = new BloomFilter(bloomExpectedInsertions, bloomFalsePositiveRate);
+        // 1 s x 64 slot per level, 3 level: jangkauan langsung sekitar 3 hari
+        this.expiryWheel = new TimingWheel<>(1000L, 64, 3, System.currentTimeMillis());
+    }
+
+    // Hot path: tanpa alokasi kecuali Bloom filter melaporkan kemungkinan cocok
+    public boolean isRevoked(byte[] sha256) {
+        if (!bloom.mightContain(TokenDigest.word(sha256, 0), TokenDigest.word(sha256, 1))) {
+            return false;
+        }
+        return revoked.contains(TokenDigest.of(sha256));
+    }
+
+    public boolean isRevoked(TokenDigest digest) {
+        if (!bloom.mightContain(digest.w0(), digest.w1())) {
+            return false;
+        }
+        return revoked.contains(digest);
+    }
+
+    // Token yang sudah kedaluwarsa tidak dimasukkan: parser JWT sudah menolaknya
+    public synchronized void add(TokenDigest digest, Instant expiresAt) {
+        long expiresAtMs = expiresAt != null ? expiresAt.toEpochMilli() : Long.MAX_VALUE;
+        if (expiresAtMs <= System.currentTimeMillis() || !revoked.add(digest)) {
+            return;
+        }
+        expiryWheel.add(digest, expiresAtMs);
+        bloom.put(digest.w0(), digest.w1());
+    }
+
+    @Scheduled(fixedDelayString = "${app.token-blacklist.expiry-tick-ms:1000}")
+    public synchronized void expireTokens() {
+        expiryWheel.advanceClock(System.currentTimeMillis(), digest -> {
+            revoked.remove(digest);
+            expiredSinceRebuild++;
+        });
+
+        BloomFilter current = bloom;
+        boolean tooManyStale = expiredSinceRebuild > current.getExpectedInsertions() / 2;
+        boolean outgrown = revoked.size() > current.getExpectedInsertions();
+        if (tooManyStale || outgrown) {
+            rebuildBloom();
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private void rebuildBloom() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(minBloomCapacity, revoked.size() * 2), bloomFalsePositiveRate);
+        for (TokenDigest digest : revoked) {
+            rebuilt.put(digest.w0(), digest.w1());
+        }
+        bloom = rebuilt;
+        expiredSinceRebuild = 0;
+    }
+}
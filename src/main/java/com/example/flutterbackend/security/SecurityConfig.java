@@ -1,13 +1,20 @@
 package com.example.flutterbackend.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -18,6 +25,37 @@ public class SecurityConfig {
     @Autowired
     private JwtFilter jwtFilter;
 
+    // Scrape Prometheus memakai HTTP Basic dengan kredensial terpisah dari user aplikasi (role METRICS),
+    // karena metrik memuat trafik per endpoint, ukuran cache, dan jumlah token yang dicabut.
+    // Tanpa app.metrics.scrape-password endpoint ini selalu ditolak.
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsFilterChain(
+            HttpSecurity http,
+            @Value("${app.metrics.scrape-username:prometheus}") String username,
+            @Value("${app.metrics.scrape-password:}") String password) throws Exception {
+        http
+            .securityMatcher("/actuator/prometheus")
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .httpBasic(Customizer.withDefaults());
+
+        if (password == null || password.isBlank()) {
+            http.authorizeHttpRequests(auth -> auth.anyRequest().denyAll());
+        } else {
+            DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+            provider.setPasswordEncoder(passwordEncoder());
+            provider.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+                    .password(passwordEncoder().encode(password))
+                    .roles("METRICS")
+                    .build()));
+            http
+                .authenticationManager(new ProviderManager(provider))
+                .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("METRICS"));
+        }
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -28,6 +66,7 @@ public class SecurityConfig {
                 .requestMatchers("/error").permitAll() // Allow error endpoint
                 .requestMatchers("/uploads/**").permitAll() // Allow access to uploaded files
                 .requestMatchers("/api/debug/**").permitAll() // Allow debug endpoints
+                .requestMatchers("/actuator/health").permitAll() // Health check (scrape Prometheus: lihat metricsFilterChain)
                 
                 // Protected endpoints - perlu authentication (including logout)
                 .anyRequest().authenticated()
@@ -0,0 +1,15 @@
+package com.example.flutterbackend.security;
+
+import java.time.Instant;
+
+// Claims token yang signature-nya sudah diverifikasi, dibuat sekali per token oleh JwtUtil.parseToken
+// dan dibagi lewat JwtClaimsCache.
+// tokenId = claim jti (null untuk token lama tanpa jti); tokenVersion = claim tv, dibandingkan dengan
+// token_version user agar semua token user bisa dicabut sekaligus (token tanpa tv dianggap versi 0).
+public record TokenClaims(Long userId, String email, Instant issuedAt, Instant expiresAt, String keyId, String tokenId,
+                          long tokenVersion) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
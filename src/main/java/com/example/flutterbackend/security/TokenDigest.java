@@ -0,0 +1,49 @@
+package com.example.flutterbackend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// SHA-256 dari string JWT, disimpan sebagai empat long agar bisa jadi key map/set yang ringkas
+// tanpa menyimpan token-nya sendiri.
+public record TokenDigest(long w0, long w1, long w2, long w3) {
+
+    public static final int LENGTH = 32;
+
+    public static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            // Setiap JRE wajib menyediakan SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static TokenDigest of(String token) {
+        return of(sha256(token));
+    }
+
+    public static TokenDigest of(byte[] digest) {
+        return new TokenDigest(word(digest, 0), word(digest, 1), word(digest, 2), word(digest, 3));
+    }
+
+    // Long ke-'index' dari digest (big-endian), tanpa alokasi
+    public static long word(byte[] digest, int index) {
+        long value = 0;
+        for (int i = index * 8; i < index * 8 + 8; i++) {
+            value = (value << 8) | (digest[i] & 0xFFL);
+        }
+        return value;
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[LENGTH];
+        long[] words = {w0, w1, w2, w3};
+        for (int w = 0; w < 4; w++) {
+            for (int i = 0; i < 8; i++) {
+                bytes[w * 8 + i] = (byte) (words[w] >>> (56 - 8 * i));
+            }
+        }
+        return bytes;
+    }
+}
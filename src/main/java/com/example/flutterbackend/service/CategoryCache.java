@@ -0,0 +1,123 @@
+package com.example.flutterbackend.service;
+
+import com.example.flutterbackend.dto.CategoryDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Cache kategori aktif per user: satu snapshot melayani daftar semua, income, expense, dan
+// pengecekan kepemilikan kategori saat transaksi ditulis.
+// Di-invalidate setelah commit oleh CategoryChangedEvent dari CategoryService; TTL menjadi batas
+// basi untuk perubahan yang terjadi di instance lain.
+@Component
+public class CategoryCache {
+
+    private final Cache<Long, Snapshot> cache;
+
+    public CategoryCache(
+            @Value("${app.category-cache.max-size:10000}") long maxSize,
+            @Value("${app.category-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    // Ambil snapshot dari cache, atau muat lewat loader jika belum ada
+    public Snapshot get(Long userId, Function<Long, Snapshot> loader) {
+        return cache.get(userId, loader);
+    }
+
+    public void evict(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    // Invalidasi setelah commit (atau langsung jika tidak ada transaksi aktif)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    // Akses cache mentah (untuk binding metrics)
+    public Cache<Long, Snapshot> nativeCache() {
+        return cache;
+    }
+
+    // Daftar kategori aktif user (urut categoryId) beserta ETag-nya.
+    // ETag dihitung dari isi daftar, jadi sama di semua instance dan setelah restart selama datanya tidak berubah.
+    public static final class Snapshot {
+
+        private final List<CategoryDTO> all;
+        private final List<CategoryDTO> income;
+        private final List<CategoryDTO> expense;
+        private final Map<Long, CategoryDTO> byId;
+        private final String eTag;
+        private final long loadedAtNanos = System.nanoTime();
+
+        public Snapshot(List<CategoryDTO> categories) {
+            this.all = categories.stream()
+                    .sorted(Comparator.comparing(CategoryDTO::getCategoryId))
+                    .toList();
+            this.income = all.stream().filter(c -> !Boolean.TRUE.equals(c.getIsExpense())).toList();
+            this.expense = all.stream().filter(c -> Boolean.TRUE.equals(c.getIsExpense())).toList();
+            this.byId = all.stream().collect(Collectors.toUnmodifiableMap(CategoryDTO::getCategoryId, Function.identity()));
+            this.eTag = computeETag(all);
+        }
+
+        public List<CategoryDTO> getAll() {
+            return all;
+        }
+
+        public List<CategoryDTO> getIncome() {
+            return income;
+        }
+
+        public List<CategoryDTO> getExpense() {
+            return expense;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        // Umur snapshot sejak dimuat melebihi maxAge
+        public boolean isOlderThan(Duration maxAge) {
+            return System.nanoTime() - loadedAtNanos > maxAge.toNanos();
+        }
+
+        // Kategori aktif milik user ini, atau null jika tidak ada (tidak ada, sudah dihapus, atau milik user lain)
+        public CategoryDTO find(Long categoryId) {
+            return byId.get(categoryId);
+        }
+
+        private static String computeETag(List<CategoryDTO> categories) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                for (CategoryDTO category : categories) {
+                    String line = category.getCategoryId() + "|" + category.getCategoryName() + "|"
+                            + category.getIsExpense() + "|" + category.getCreatedByUserId() + "\n";
+                    digest.update(line.getBytes(StandardCharsets.UTF_8));
+                }
+                return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 tidak tersedia", e);
+            }
+        }
+    }
+}
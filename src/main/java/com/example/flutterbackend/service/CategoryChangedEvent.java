@@ -0,0 +1,21 @@
+package com.example.flutterbackend.service;
+
+// Event yang dipublikasikan setiap kali kategori milik user dibuat, diubah, dihapus, atau di-restore.
+// Terpisah dari UserDataChangedEvent agar cache kategori tidak ikut terbuang setiap ada transaksi baru.
+public class CategoryChangedEvent {
+
+    private final Long userId;
+
+    public CategoryChangedEvent(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public String toString() {
+        return "CategoryChangedEvent{userId=" + userId + '}';
+    }
+}
@@ -1,17 +1,25 @@
 package com.example.flutterbackend.service;
 
 import com.example.flutterbackend.dto.CategoryDTO;
+import com.example.flutterbackend.exception.AccessDeniedException;
+import com.example.flutterbackend.exception.ResourceNotFoundException;
 import com.example.flutterbackend.model.Category;
 import com.example.flutterbackend.model.Transaction;
 import com.example.flutterbackend.model.User;
+import com.example.flutterbackend.repository.CategoryOwnership;
 import com.example.flutterbackend.repository.CategoryRepository;
 import com.example.flutterbackend.repository.TransactionRepository;
 import com.example.flutterbackend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -28,6 +36,23 @@ public class CategoryService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    // Jumlah transaksi per UPDATE saat soft delete / restore kategori
+    @Value("${app.categories.cascade-batch-size:5000}")
+    private int cascadeBatchSize;
+
+    // Umur maksimum snapshot kategori yang dipercaya saat transaksi ditulis
+    @Value("${app.category-cache.write-max-age-seconds:30}")
+    private long writeMaxAgeSeconds;
+
     // Konversi Category entity ke CategoryDTO
     private CategoryDTO convertToDTO(Category category) {
         CategoryDTO dto = new CategoryDTO();
@@ -43,13 +68,44 @@ public class CategoryService {
 
     // Ambil semua kategori berdasarkan user (yang belum dihapus)
     public List<CategoryDTO> getCategoriesByUserId(Long userId) {
+        return getCategorySnapshot(userId).getAll();
+    }
+
+    // Snapshot kategori aktif user dari cache (semua, income, expense, dan ETag)
+    public CategoryCache.Snapshot getCategorySnapshot(Long userId) {
+        return categoryCache.get(userId, this::loadCategorySnapshot);
+    }
+
+    // Kategori aktif milik user: dari index kategori, atau satu query jika tidak ada di index.
+    // Index bisa basi di instance ini (kategori dibuat, dihapus, atau diubah tipenya lewat instance lain,
+    // invalidasi hanya lokal), jadi hanya hasil query yang menentukan 403/404; kategori yang ternyata milik
+    // user diterima dan snapshot user di-evict agar dimuat ulang.
+    // Hit di snapshot yang lebih tua dari write-max-age juga dicek ulang ke tabel: TTL cache (untuk
+    // endpoint baca) terlalu panjang untuk is_expense/is_deleted yang menentukan isi transaksi dan rollup.
+    public CategoryDTO findOwnedCategory(Long userId, Long categoryId) {
+        CategoryCache.Snapshot snapshot = getCategorySnapshot(userId);
+        CategoryDTO category = snapshot.find(categoryId);
+        if (category != null && !snapshot.isOlderThan(Duration.ofSeconds(writeMaxAgeSeconds))) {
+            return category;
+        }
+        CategoryOwnership ownership = categoryRepository.findActiveOwnershipById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Kategori " + categoryId + " tidak ditemukan"));
+        if (!userId.equals(ownership.getUserId())) {
+            throw new AccessDeniedException("Kategori " + categoryId + " tidak dapat digunakan oleh user ini");
+        }
+        categoryCache.evict(userId);
+        return new CategoryDTO(ownership.getCategoryId(), ownership.getCategoryName(), ownership.getIsExpense(),
+                false, ownership.getUserId());
+    }
+
+    private CategoryCache.Snapshot loadCategorySnapshot(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User tidak ditemukan"));
-        
+
         List<Category> categories = categoryRepository.findByCreatedByAndIsDeleted(user, false);
-        return categories.stream()
+        return new CategoryCache.Snapshot(categories.stream()
                 .map(this::convertToDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     // Ambil semua kategori termasuk yang sudah di-soft delete berdasarkan user
@@ -76,9 +132,6 @@ public class CategoryService {
 
     // Buat kategori baru
     public CategoryDTO createCategory(CategoryDTO categoryDTO, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User tidak ditemukan"));
-
         // Validasi input
         if (categoryDTO.getCategoryName() == null || categoryDTO.getCategoryName().trim().isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nama kategori wajib diisi");
@@ -88,10 +141,14 @@ public class CategoryService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tipe kategori (expense/income) wajib diisi");
         }
 
-        // Cek apakah kategori dengan nama yang sama sudah ada untuk user ini
+        // Cukup referensi (foreign key) ke user, tanpa SELECT tabel users
+        User user = userRepository.getReferenceById(userId);
+
+        // Cek apakah kategori dengan nama yang sama sudah ada untuk user ini, langsung ke tabel seperti
+        // updateCategory (snapshot kategori bisa basi jika kategori dibuat lewat instance lain)
         Optional<Category> existingCategory = categoryRepository.findByCategoryNameAndCreatedByAndIsDeleted(
                 categoryDTO.getCategoryName(), user, false);
-        
+
         if (existingCategory.isPresent()) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Kategori dengan nama tersebut sudah ada");
         }
@@ -103,6 +160,7 @@ public class CategoryService {
         category.setCreatedBy(user);
 
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(userId));
         return convertToDTO(saved);
     }
 
@@ -118,6 +176,7 @@ public class CategoryService {
     }
 
     // Soft delete kategori
+    @Transactional(timeoutString = "${app.transactions.write-timeout-seconds:15}")
     public CategoryDTO deleteCategory(Long categoryId, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User tidak ditemukan"));
@@ -125,44 +184,58 @@ public class CategoryService {
         Category category = categoryRepository.findByCategoryIdAndCreatedBy(categoryId, user)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Kategori tidak ditemukan atau tidak memiliki akses"));
 
-        // Soft delete semua transaksi yang terkait dengan kategori ini
-        for (Transaction transaction : category.getCategoryTransactions()) {
-            if (!transaction.getIsDeleted()) {
-                transaction.setIsDeleted(true);
-                transactionRepository.save(transaction);
-            }
-        }
-
         // Soft delete kategori
         category.setIsDeleted(true);
         Category saved = categoryRepository.save(category);
+
+        // Soft delete semua transaksi yang terkait dengan kategori ini (bulk UPDATE per batch)
+        setTransactionsDeleted(categoryId, true);
+
+        // Transaksi kategori ini ikut terhapus, buang rollup-nya
+        rollupService.removeCategory(categoryId);
+        eventPublisher.publishEvent(new CategoryChangedEvent(userId));
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId));
         return convertToDTO(saved);
     }
 
     // Restore kategori
+    @Transactional(timeoutString = "${app.transactions.write-timeout-seconds:15}")
     public CategoryDTO restoreCategory(Long categoryId, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User tidak ditemukan"));
 
-        Category category = categoryRepository.findByCategoryIdAndCreatedBy(categoryId, user)
+        // Kategori yang sudah dihapus tidak terlihat lewat query JPA (@Where), cari dengan native query
+        Category category = categoryRepository.findByIdIncludeDeleted(categoryId)
+                .filter(c -> c.getCreatedBy() != null && c.getCreatedBy().getUserId().equals(user.getUserId()))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Kategori tidak ditemukan atau tidak memiliki akses"));
 
         // Restore kategori
         category.setIsDeleted(false);
         Category saved = categoryRepository.save(category);
 
-        // Restore semua transaksi yang terkait dengan kategori ini
-        for (Transaction transaction : category.getCategoryTransactions()) {
-            if (transaction.getIsDeleted()) {
-                transaction.setIsDeleted(false);
-                transactionRepository.save(transaction);
-            }
-        }
+        // Restore semua transaksi yang terkait dengan kategori ini (bulk UPDATE per batch)
+        setTransactionsDeleted(categoryId, false);
 
+        // Transaksi kategori ini kembali aktif, hitung ulang rollup-nya
+        rollupService.rebuildCategory(categoryId);
+        eventPublisher.publishEvent(new CategoryChangedEvent(userId));
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId));
         return convertToDTO(saved);
     }
 
+    // Ubah status hapus semua transaksi kategori, cascadeBatchSize baris per UPDATE sampai batch terakhir tidak penuh.
+    // Tetap di dalam transaksi pemanggil, jadi kategori, transaksi, dan rollup berubah bersama.
+    private void setTransactionsDeleted(Long categoryId, boolean deleted) {
+        // updated_at ikut diisi agar perubahan ini sampai ke client lewat feed sync
+        LocalDateTime updatedAt = Transaction.currentTimestamp();
+        int updated;
+        do {
+            updated = transactionRepository.updateDeletedByCategoryIdBatch(categoryId, deleted, updatedAt, cascadeBatchSize);
+        } while (updated >= cascadeBatchSize);
+    }
+
     // Update kategori
+    @Transactional
     public CategoryDTO updateCategory(Long categoryId, CategoryDTO categoryDTO, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User tidak ditemukan"));
@@ -183,33 +256,31 @@ public class CategoryService {
             category.setCategoryName(categoryDTO.getCategoryName());
         }
 
+        boolean typeChanged = false;
         if (categoryDTO.getIsExpense() != null) {
+            typeChanged = !categoryDTO.getIsExpense().equals(category.getIsExpense());
             category.setIsExpense(categoryDTO.getIsExpense());
         }
 
         Category saved = categoryRepository.save(category);
+
+        // Tipe income/expense berubah: semua transaksi kategori ini pindah kolom di rollup
+        if (typeChanged) {
+            rollupService.rebuildCategory(categoryId);
+        }
+        eventPublisher.publishEvent(new CategoryChangedEvent(userId));
+        // Juga untuk ganti nama: dashboard dan laporan CSV/PDF yang sudah jadi menampilkan nama kategori
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId));
         return convertToDTO(saved);
     }
 
     // Ambil kategori income berdasarkan user
     public List<CategoryDTO> getIncomeCategoriesByUserId(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User tidak ditemukan"));
-        
-        List<Category> categories = categoryRepository.findByCreatedByAndIsExpenseAndIsDeleted(user, false, false);
-        return categories.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return getCategorySnapshot(userId).getIncome();
     }
 
     // Ambil kategori expense berdasarkan user
     public List<CategoryDTO> getExpenseCategoriesByUserId(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User tidak ditemukan"));
-        
-        List<Category> categories = categoryRepository.findByCreatedByAndIsExpenseAndIsDeleted(user, true, false);
-        return categories.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return getCategorySnapshot(userId).getExpense();
     }
 }
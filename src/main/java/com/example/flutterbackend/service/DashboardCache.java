@@ -0,0 +1,60 @@
+package com.example.flutterbackend.service;
+
+import com.example.flutterbackend.dto.DashboardDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// Cache data dashboard per user (dibatasi ukuran & TTL).
+// Di-invalidate oleh UserDataChangedEvent dari TransactionService dan CategoryService.
+@Component
+public class DashboardCache {
+
+    private final Cache<Long, DashboardDTO> cache;
+
+    public DashboardCache(
+            @Value("${app.dashboard-cache.max-size:10000}") long maxSize,
+            @Value("${app.dashboard-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    // Ambil dashboard dari cache, atau hitung lewat loader jika belum ada
+    public DashboardDTO get(Long userId, Function<Long, DashboardDTO> loader) {
+        return cache.get(userId, loader);
+    }
+
+    public void evict(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    // Invalidasi setelah commit (atau langsung jika tidak ada transaksi aktif)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    // Akses cache mentah (untuk binding metrics)
+    public Cache<Long, DashboardDTO> nativeCache() {
+        return cache;
+    }
+}
@@ -7,7 +7,10 @@ import com.example.flutterbackend.model.Transaction;
 import com.example.flutterbackend.model.User;
 import com.example.flutterbackend.repository.TransactionRepository;
 import com.example.flutterbackend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
@@ -18,6 +21,10 @@ import java.util.stream.Collectors;
 @Service
 public class DashboardService {
 
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
+    private static final int RECENT_TRANSACTION_LIMIT = 5;
+
     @Autowired
     private TransactionService transactionService;
 
@@ -27,6 +34,12 @@ public class DashboardService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private RollupService rollupService;
+
     // Konversi Transaction ke TransactionDTO
     private TransactionDTO convertToDTO(Transaction transaction) {
         TransactionDTO dto = new TransactionDTO();
@@ -41,10 +54,15 @@ public class DashboardService {
         return dto;
     }
 
-    // Dashboard data untuk user (dipanggil saat login)
+    // Dashboard data untuk user (dipanggil saat login), dilayani dari cache jika tersedia
     public DashboardDTO getDashboardData(Long userId) {
+        return dashboardCache.get(userId, this::loadDashboardData);
+    }
+
+    // Hitung dashboard dari database (cache miss)
+    private DashboardDTO loadDashboardData(Long userId) {
         try {
-            System.out.println("=== DashboardService.getDashboardData() called for user: " + userId + " ===");
+            log.debug("DashboardService.loadDashboardData() called for user: {}", userId);
             
             // Validasi user
             User user = userRepository.findById(userId)
@@ -53,30 +71,27 @@ public class DashboardService {
             // 1. Dapatkan ringkasan bulanan
             TransactionSummaryDTO monthlySummary = transactionService.getMonthlySummaryByUserId(userId);
 
-            // 2. Dapatkan 5 transaksi terbaru
-            List<Transaction> recentTransactions = transactionRepository.findRecentTransactionsByUserId(userId)
-                    .stream()
-                    .limit(5)
-                    .collect(Collectors.toList());
+            // 2. Dapatkan 5 transaksi terbaru (LIMIT di database)
+            List<Transaction> recentTransactions = transactionRepository.findRecentTransactionsByUserId(
+                    userId, PageRequest.of(0, RECENT_TRANSACTION_LIMIT));
 
             List<TransactionDTO> recentTransactionDTOs = recentTransactions.stream()
                     .map(this::convertToDTO)
                     .collect(Collectors.toList());
 
-            // 3. Hitung total transaksi user
-            Long totalTransactions = (long) transactionRepository.findByUserId(userId).size();
+            // 3. Total transaksi user dari tabel rollup: biayanya mengikuti jumlah bulan x kategori, bukan jumlah transaksi
+            Long totalTransactions = rollupService.getTransactionCount(userId);
 
             // 4. Buat dashboard DTO
             DashboardDTO dashboard = new DashboardDTO(monthlySummary, recentTransactionDTOs, totalTransactions);
             
-            System.out.println("Dashboard data prepared successfully");
+            log.debug("Dashboard data prepared successfully");
             return dashboard;
             
         } catch (ResponseStatusException e) {
             throw e;
         } catch (Exception e) {
-            System.err.println("Error getting dashboard data: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error getting dashboard data: {}", e.getMessage(), e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to get dashboard data: " + e.getMessage());
         }
     }
@@ -1,5 +1,7 @@
 package com.example.flutterbackend.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -17,6 +19,8 @@ import java.util.UUID;
 @Service
 public class FileStorageService {
 
+    private static final Logger log = LoggerFactory.getLogger(FileStorageService.class);
+
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
 
@@ -57,7 +61,7 @@ public class FileStorageService {
             String filename = UUID.randomUUID().toString() + fileExtension;
             Path targetLocation = getUploadPath().resolve(filename);
             Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-            System.out.println("File berhasil disimpan: " + filename);
+            log.debug("File berhasil disimpan: {}", filename);
             return filename;
         } catch (IOException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, 
@@ -74,10 +78,10 @@ public class FileStorageService {
             Path filePath = getUploadPath().resolve(filename);
             if (Files.exists(filePath)) {
                 Files.delete(filePath);
-                System.out.println("File berhasil dihapus: " + filename);
+                log.debug("File berhasil dihapus: {}", filename);
             }
         } catch (IOException e) {
-            System.err.println("Gagal menghapus file: " + e.getMessage());
+            log.warn("Gagal menghapus file: {}", e.getMessage());
         }
     }
 
@@ -0,0 +1,24 @@
+package com.example.flutterbackend.service;
+
+// Format laporan yang bisa dibuat oleh job laporan
+public enum ReportFormat {
+
+    CSV("text/csv", "csv"),
+    PDF("application/pdf", "pdf");
+
+    private final String contentType;
+    private final String extension;
+
+    ReportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.flutterbackend.service;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+
+// State satu job laporan (disimpan di memori oleh ReportJobService).
+// Field status diubah oleh worker thread dan dibaca oleh request polling, jadi dibuat volatile.
+public class ReportJob {
+
+    private final String jobId;
+    private final Long userId;
+    private final ReportFormat format;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    // Kunci deduplikasi: user + format + rentang + versi data user saat job dibuat
+    private final String requestKey;
+    private final Instant createdAt;
+
+    private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+    private volatile Instant completedAt;
+    private volatile Instant expiresAt;
+    private volatile Path file;
+    private volatile long fileSize;
+    private volatile String error;
+
+    public ReportJob(String jobId, Long userId, ReportFormat format, LocalDate startDate, LocalDate endDate,
+                     String requestKey, Instant expiresAt) {
+        this.jobId = jobId;
+        this.userId = userId;
+        this.format = format;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.requestKey = requestKey;
+        this.createdAt = Instant.now();
+        this.expiresAt = expiresAt;
+    }
+
+    void markRunning() {
+        this.status = ReportJobStatus.RUNNING;
+    }
+
+    void markCompleted(Path file, long fileSize, Instant expiresAt) {
+        this.file = file;
+        this.fileSize = fileSize;
+        this.completedAt = Instant.now();
+        this.expiresAt = expiresAt;
+        this.status = ReportJobStatus.COMPLETED;
+    }
+
+    void markFailed(String error, Instant expiresAt) {
+        this.error = error;
+        this.completedAt = Instant.now();
+        this.expiresAt = expiresAt;
+        this.status = ReportJobStatus.FAILED;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && now.isAfter(expiresAt);
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public ReportFormat getFormat() {
+        return format;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public String getRequestKey() {
+        return requestKey;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public ReportJobStatus getStatus() {
+        return status;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public String getFileName() {
+        return "transactions_" + startDate + "_" + endDate + "." + format.getExtension();
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.flutterbackend.service;
+
+import com.example.flutterbackend.exception.ConflictException;
+import com.example.flutterbackend.exception.ResourceNotFoundException;
+import com.example.flutterbackend.exception.ServiceUnavailableException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Job laporan CSV/PDF asinkron: di-enqueue lewat API, dirender oleh worker pool "reportExecutor",
+// hasilnya disimpan sebagai file di disk dan dihapus otomatis setelah TTL habis.
+// Permintaan identik (user, format, rentang tanggal, dan versi data sama) memakai job/file yang sudah ada.
+@Service
+public class ReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+
+    // Nama file hasil render: jobId (UUID acak) + ekstensi format, ditambah .part selama ditulis
+    private static final Pattern REPORT_FILE_NAME = Pattern.compile(
+            "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\.("
+            + Arrays.stream(ReportFormat.values()).map(ReportFormat::getExtension).collect(Collectors.joining("|"))
+            + ")(\\.part)?");
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserDataVersions dataVersions;
+
+    @Autowired
+    @Qualifier("reportExecutor")
+    private TaskExecutor reportExecutor;
+
+    @Value("${app.reports.storage-dir:reports}")
+    private String storageDir;
+
+    @Value("${app.reports.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    // jobId -> job
+    private final ConcurrentMap<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    // requestKey -> job (untuk deduplikasi permintaan identik)
+    private final ConcurrentMap<String, ReportJob> jobsByRequestKey = new ConcurrentHashMap<>();
+
+    public ReportJob submit(Long userId, ReportFormat format, LocalDate startDate, LocalDate endDate) {
+        String requestKey = userId + "|" + format + "|" + startDate + "|" + endDate + "|" + dataVersions.current(userId);
+        Instant now = Instant.now();
+
+        ReportJob[] created = new ReportJob[1];
+        ReportJob job = jobsByRequestKey.compute(requestKey, (key, existing) -> {
+            if (existing != null && isReusable(existing, now)) {
+                return existing;
+            }
+            created[0] = new ReportJob(UUID.randomUUID().toString(), userId, format, startDate, endDate,
+                    key, now.plus(ttl()));
+            return created[0];
+        });
+
+        if (created[0] == null) {
+            log.debug("Report job {} dipakai ulang untuk user {} ({})", job.getJobId(), userId, requestKey);
+            return job;
+        }
+
+        jobs.put(job.getJobId(), job);
+        try {
+            reportExecutor.execute(() -> render(job));
+        } catch (TaskRejectedException e) {
+            forget(job);
+            throw new ServiceUnavailableException("Antrian laporan sedang penuh, silakan coba lagi nanti");
+        }
+        log.debug("Report job {} di-enqueue untuk user {} ({})", job.getJobId(), userId, requestKey);
+        return job;
+    }
+
+    // Ambil job milik user; job user lain diperlakukan seperti tidak ada
+    public ReportJob getJob(String jobId, Long userId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null || !job.getUserId().equals(userId) || job.isExpired(Instant.now())) {
+            throw new ResourceNotFoundException("Report job", "id", jobId);
+        }
+        return job;
+    }
+
+    // Ambil file hasil job yang sudah selesai
+    public ReportJob getCompletedJob(String jobId, Long userId) {
+        ReportJob job = getJob(jobId, userId);
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new ConflictException("Laporan belum siap diunduh (status: " + job.getStatus() + ")");
+        }
+        if (job.getFile() == null || !Files.exists(job.getFile())) {
+            forget(job);
+            throw new ResourceNotFoundException("Report job", "id", jobId);
+        }
+        return job;
+    }
+
+    private void render(ReportJob job) {
+        job.markRunning();
+        long startedAt = System.currentTimeMillis();
+        Path target = getStoragePath().resolve(job.getJobId() + "." + job.getFormat().getExtension());
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                if (job.getFormat() == ReportFormat.CSV) {
+                    Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                    transactionService.writeCsvReport(job.getUserId(), job.getStartDate(), job.getEndDate(), writer);
+                } else {
+                    transactionService.writePdfReport(job.getUserId(), job.getStartDate(), job.getEndDate(), out);
+                }
+            }
+            // File baru terlihat setelah lengkap ditulis
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.markCompleted(target, Files.size(target), Instant.now().plus(ttl()));
+            // Job sudah dihapus dari registry selama dirender: tidak ada yang bisa mengunduh filenya
+            if (jobs.get(job.getJobId()) != job) {
+                deleteQuietly(target);
+                return;
+            }
+            log.info("Report job {} selesai dalam {} ms ({} bytes)", job.getJobId(), System.currentTimeMillis() - startedAt, job.getFileSize());
+        } catch (Exception e) {
+            log.warn("Report job {} gagal: {}", job.getJobId(), e.getMessage());
+            deleteQuietly(partial);
+            job.markFailed("Gagal membuat laporan", Instant.now().plus(ttl()));
+            // Job gagal tidak boleh dipakai ulang oleh permintaan berikutnya
+            jobsByRequestKey.remove(job.getRequestKey(), job);
+        }
+    }
+
+    // Hapus job dan file yang sudah melewati TTL
+    @Scheduled(fixedDelayString = "${app.reports.cleanup-interval-ms:300000}")
+    public void cleanupExpiredJobs() {
+        Instant now = Instant.now();
+        int removed = 0;
+        for (ReportJob job : jobs.values()) {
+            // Job yang masih antre atau sedang dirender dibiarkan: render-nya tetap berjalan dan akan menulis file
+            if (job.isExpired(now) && job.getStatus() != ReportJobStatus.QUEUED
+                    && job.getStatus() != ReportJobStatus.RUNNING) {
+                forget(job);
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.info("Report cleanup: {} job kedaluwarsa dihapus", removed);
+        }
+    }
+
+    // Registry job ada di memori, jadi file sisa proses sebelumnya tidak bisa diunduh lagi.
+    // Hanya file buatan service ini (<jobId UUID>.csv|pdf[.part]) yang dihapus: storage-dir bisa saja
+    // menunjuk ke direktori yang juga berisi file lain.
+    @EventListener(ApplicationReadyEvent.class)
+    public void purgeOrphanFilesOnStartup() {
+        Path dir = getStoragePath();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir,
+                file -> REPORT_FILE_NAME.matcher(file.getFileName().toString()).matches())) {
+            for (Path file : files) {
+                deleteQuietly(file);
+            }
+        } catch (IOException e) {
+            log.warn("Gagal membersihkan direktori laporan: {}", e.getMessage());
+        }
+    }
+
+    private boolean isReusable(ReportJob job, Instant now) {
+        if (job.isExpired(now) || job.getStatus() == ReportJobStatus.FAILED) {
+            return false;
+        }
+        return job.getStatus() != ReportJobStatus.COMPLETED || Files.exists(job.getFile());
+    }
+
+    private void forget(ReportJob job) {
+        jobs.remove(job.getJobId(), job);
+        jobsByRequestKey.remove(job.getRequestKey(), job);
+        if (job.getFile() != null) {
+            deleteQuietly(job.getFile());
+        }
+    }
+
+    private Duration ttl() {
+        return Duration.ofMinutes(ttlMinutes);
+    }
+
+    private Path getStoragePath() {
+        Path path = Paths.get(storageDir).toAbsolutePath().normalize();
+        try {
+            if (!Files.exists(path)) {
+                Files.createDirectories(path);
+            }
+            return path;
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                "Tidak dapat membuat direktori untuk menyimpan laporan", e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Gagal menghapus file laporan {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.flutterbackend.service;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,151 @@
+package com.example.flutterbackend.service;
+
+import com.example.flutterbackend.repository.IncomeExpenseTotals;
+import com.example.flutterbackend.repository.UserMonthlyRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+// Menjaga tabel user_monthly_rollup tetap sinkron dengan tabel transactions.
+// Semua method penulisan dipanggil di dalam transaksi milik TransactionService/CategoryService
+// sehingga rollup dan transaksi selalu ter-commit (atau di-rollback) bersamaan.
+@Service
+public class RollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupService.class);
+
+    @Autowired
+    private UserMonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // MySQL memakai INSERT ... ON DUPLICATE KEY UPDATE, selain itu (H2) MERGE; ditentukan sekali dari metadata koneksi
+    private volatile Boolean mysql;
+
+    @Value("${app.rollup.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    // Catat perubahan satu transaksi ke rollup (sign = +1 untuk tambah, -1 untuk hapus)
+    @Transactional
+    public void recordTransaction(Long userId, Long categoryId, Boolean isExpense, LocalDate transactionDate,
+                                  BigDecimal amount, int sign) {
+        if (userId == null || categoryId == null || transactionDate == null || amount == null) {
+            return;
+        }
+        BigDecimal signedAmount = sign < 0 ? amount.negate() : amount;
+        BigDecimal income = Boolean.TRUE.equals(isExpense) ? BigDecimal.ZERO : signedAmount;
+        BigDecimal expense = Boolean.TRUE.equals(isExpense) ? signedAmount : BigDecimal.ZERO;
+        Integer rollupMonth = toRollupMonth(YearMonth.from(transactionDate));
+
+        applyDelta(userId, rollupMonth, categoryId, income, expense, (long) sign);
+    }
+
+    // Catat sekelompok transaksi baru dengan bulan dan kategori yang sama (bulk create) dalam satu statement
+    @Transactional
+    public void recordTransactions(Long userId, Long categoryId, Boolean isExpense, YearMonth month,
+                                   BigDecimal totalAmount, long count) {
+        BigDecimal income = Boolean.TRUE.equals(isExpense) ? BigDecimal.ZERO : totalAmount;
+        BigDecimal expense = Boolean.TRUE.equals(isExpense) ? totalAmount : BigDecimal.ZERO;
+        Integer rollupMonth = toRollupMonth(month);
+
+        applyDelta(userId, rollupMonth, categoryId, income, expense, count);
+    }
+
+    // Kategori di-soft delete: seluruh transaksinya ikut terhapus, jadi rollup-nya dibuang
+    @Transactional
+    public void removeCategory(Long categoryId) {
+        rollupRepository.deleteByCategoryId(categoryId);
+    }
+
+    // Hitung ulang rollup satu kategori (restore kategori atau perubahan tipe income/expense)
+    @Transactional
+    public void rebuildCategory(Long categoryId) {
+        rollupRepository.deleteByCategoryId(categoryId);
+        rollupRepository.rebuildForCategory(categoryId);
+    }
+
+    // Hitung ulang rollup satu user
+    @Transactional
+    public void rebuildUser(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+        rollupRepository.rebuildForUser(userId);
+    }
+
+    // Rebuild penuh dari tabel transactions (backfill)
+    @Transactional
+    public int rebuildAll() {
+        rollupRepository.deleteAllRollups();
+        return rollupRepository.rebuildAll();
+    }
+
+    // Total income & expense user untuk rentang bulan (inklusif)
+    @Transactional(readOnly = true)
+    public IncomeExpenseTotals getTotals(Long userId, YearMonth from, YearMonth to) {
+        return rollupRepository.sumTotalsByUserIdAndMonthRange(userId, toRollupMonth(from), toRollupMonth(to));
+    }
+
+    // Jumlah transaksi aktif user (semua bulan)
+    @Transactional(readOnly = true)
+    public long getTransactionCount(Long userId) {
+        return rollupRepository.sumTransactionCountByUserId(userId);
+    }
+
+    // Backfill saat startup: jika tabel rollup masih kosong, atau rebuild dipaksa lewat konfigurasi
+    // Tanpa @Transactional di listener: rebuild berjalan di transaksinya sendiri (TransactionTemplate, karena
+    // panggilan ke rebuildAll() dari dalam kelas ini tidak lewat proxy), jadi kegagalannya di-rollback dan
+    // tertangkap di sini tanpa menggagalkan startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            if (rebuildOnStartup || rollupRepository.count() == 0) {
+                log.info("Rebuilding user_monthly_rollup");
+                Integer rows = new TransactionTemplate(transactionManager).execute(status -> rebuildAll());
+                log.info("Rollup rebuilt, rows: {}", rows);
+            }
+        } catch (Exception e) {
+            log.warn("Error rebuilding rollup: {}", e.getMessage());
+        }
+    }
+
+    // Upsert satu statement: dua penulisan pertama yang bersamaan untuk (user, bulan, kategori) yang sama
+    // tidak lagi sama-sama melihat 0 baris ter-update lalu bentrok di unique key saat insert
+    private void applyDelta(Long userId, Integer rollupMonth, Long categoryId,
+                            BigDecimal income, BigDecimal expense, Long count) {
+        if (isMySql()) {
+            rollupRepository.upsertDelta(userId, rollupMonth, categoryId, income, expense, count);
+        } else {
+            rollupRepository.mergeDelta(userId, rollupMonth, categoryId, income, expense, count);
+        }
+    }
+
+    private boolean isMySql() {
+        Boolean result = mysql;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    connection.getMetaData().getDatabaseProductName().startsWith("MySQL"));
+            mysql = result;
+        }
+        return result;
+    }
+
+    private Integer toRollupMonth(YearMonth yearMonth) {
+        return yearMonth.getYear() * 100 + yearMonth.getMonthValue();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.flutterbackend.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import com.example.flutterbackend.model.User;
@@ -13,6 +15,8 @@ import java.util.Map;
 @Service
 public class SessionService {
 
+    private static final Logger log = LoggerFactory.getLogger(SessionService.class);
+
     private static final String LAST_ACTIVITY_KEY = "LAST_ACTIVITY";
     private static final String USER_ID_KEY = "USER_ID";
     private static final String USER_EMAIL_KEY = "USER_EMAIL";
@@ -22,12 +26,12 @@ public class SessionService {
     public void createSession(HttpSession session, User user) {
         try {
             if (session == null || user == null) {
-                System.err.println("Session or user is null, cannot create session");
+                log.warn("Session or user is null, cannot create session");
                 return;
             }
             
-            System.out.println("=== Creating Session for User: " + user.getUserId() + " ===");
-            System.out.println("Session ID: " + session.getId());
+            log.debug("Creating Session for User: {}", user.getUserId());
+            log.debug("Session ID: {}", session.getId());
             
             // Store basic user info - JANGAN simpan objek User lengkap
             session.setAttribute(USER_ID_KEY, user.getUserId());
@@ -47,11 +51,10 @@ public class SessionService {
             // Set session timeout (1 hour)
             session.setMaxInactiveInterval(3600);
             
-            System.out.println("Session created successfully with timeout: " + session.getMaxInactiveInterval() + " seconds");
+            log.debug("Session created successfully with timeout: {} seconds", session.getMaxInactiveInterval());
             
         } catch (Exception e) {
-            System.err.println("Error creating session: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error creating session: {}", e.getMessage(), e);
         }
     }
 
@@ -80,7 +83,7 @@ public class SessionService {
             }
             
         } catch (Exception e) {
-            System.err.println("Error updating session: " + e.getMessage());
+            log.warn("Error updating session: {}", e.getMessage());
         }
     }
     
@@ -97,7 +100,7 @@ public class SessionService {
                 return ((Integer) userId).longValue();
             }
         } catch (Exception e) {
-            System.err.println("Error getting user ID from session: " + e.getMessage());
+            log.warn("Error getting user ID from session: {}", e.getMessage());
         }
         return null;
     }
@@ -111,7 +114,7 @@ public class SessionService {
             Object userEmail = session.getAttribute(USER_EMAIL_KEY);
             return userEmail instanceof String ? (String) userEmail : null;
         } catch (Exception e) {
-            System.err.println("Error getting user email from session: " + e.getMessage());
+            log.warn("Error getting user email from session: {}", e.getMessage());
             return null;
         }
     }
@@ -143,7 +146,7 @@ public class SessionService {
             
             return false;
         } catch (Exception e) {
-            System.err.println("Error checking session activity: " + e.getMessage());
+            log.warn("Error checking session activity: {}", e.getMessage());
             return false;
         }
     }
@@ -160,7 +163,7 @@ public class SessionService {
                     sessionData.put("lastActivity", System.currentTimeMillis());
                 }
             } catch (Exception e) {
-                System.err.println("Error updating last activity: " + e.getMessage());
+                log.warn("Error updating last activity: {}", e.getMessage());
             }
         }
     }
@@ -177,7 +180,7 @@ public class SessionService {
                 }
                 sessionData.put(key, value);
             } catch (Exception e) {
-                System.err.println("Error storing data in session: " + e.getMessage());
+                log.warn("Error storing data in session: {}", e.getMessage());
             }
         }
     }
@@ -195,7 +198,7 @@ public class SessionService {
                 return sessionData.get(key);
             }
         } catch (Exception e) {
-            System.err.println("Error getting data from session: " + e.getMessage());
+            log.warn("Error getting data from session: {}", e.getMessage());
         }
         return null;
     }
@@ -204,13 +207,13 @@ public class SessionService {
     public void invalidateSession(HttpSession session) {
         if (session != null) {
             try {
-                System.out.println("Invalidating session: " + session.getId());
+                log.debug("Invalidating session: {}", session.getId());
                 session.invalidate();
-                System.out.println("Session invalidated successfully");
+                log.debug("Session invalidated successfully");
             } catch (IllegalStateException e) {
-                System.out.println("Session already invalidated");
+                log.debug("Session already invalidated");
             } catch (Exception e) {
-                System.err.println("Error invalidating session: " + e.getMessage());
+                log.warn("Error invalidating session: {}", e.getMessage());
             }
         }
     }
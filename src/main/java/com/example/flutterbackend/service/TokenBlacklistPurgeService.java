@@ -0,0 +1,193 @@
+package com.example.flutterbackend.service;
+
+import com.example.flutterbackend.repository.TokenBlacklistRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pembersihan baris token_blacklist yang token-nya sudah kedaluwarsa.
+ *
+ * Baris dihapus per batch (DELETE ... LIMIT lewat index expiry_date), setiap batch transaksi
+ * sendiri, jadi lock tidak ditahan lama. Jika tabel dipartisi per hari kedaluwarsa
+ * (db/mysql/005_token_blacklist_partitioning.sql, app.token-blacklist.partitioned=true),
+ * partisi yang seluruh isinya sudah kedaluwarsa di-DROP dan partisi untuk hari-hari berikutnya
+ * disiapkan lebih dulu; sisa baris hari ini tetap dihapus per batch.
+ */
+@Service
+public class TokenBlacklistPurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenBlacklistPurgeService.class);
+
+    // TO_DAYS('1970-01-01') di MySQL, untuk mengubah LocalDate.toEpochDay() ke nilai TO_DAYS
+    private static final long TO_DAYS_EPOCH_OFFSET = 719528L;
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+    private static final String MAX_PARTITION = "pmax";
+
+    @Autowired
+    private TokenBlacklistRepository tokenBlacklistRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.token-blacklist.purge-batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.token-blacklist.partitioned:false}")
+    private boolean partitioned;
+
+    @Value("${app.token-blacklist.partition-days-ahead:2}")
+    private int partitionDaysAhead;
+
+    // Metrik purge
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong totalRowsPurged = new AtomicLong();
+    private final AtomicLong totalPartitionsDropped = new AtomicLong();
+    private final AtomicLong totalDurationMs = new AtomicLong();
+    private volatile long lastRowsPurged;
+    private volatile long lastDurationMs;
+    private volatile Date lastRunAt;
+
+    @Scheduled(fixedDelayString = "${app.token-blacklist.purge-interval-ms:900000}",
+               initialDelayString = "${app.token-blacklist.purge-interval-ms:900000}")
+    public void purgeExpiredTokens() {
+        long startedAt = System.currentTimeMillis();
+        int partitionsDropped = 0;
+        long rows = 0;
+        boolean failed = false;
+
+        if (partitioned) {
+            try {
+                partitionsDropped = maintainPartitions();
+            } catch (Exception e) {
+                failed = true;
+                log.warn("Error maintaining token_blacklist partitions: {}", e.getMessage());
+            }
+        }
+
+        try {
+            rows = deleteExpiredInBatches(new Date());
+        } catch (Exception e) {
+            failed = true;
+            log.warn("Error purging expired blacklisted tokens: {}", e.getMessage());
+        }
+
+        long duration = System.currentTimeMillis() - startedAt;
+        runs.incrementAndGet();
+        if (failed) {
+            failures.incrementAndGet();
+        }
+        totalRowsPurged.addAndGet(rows);
+        totalPartitionsDropped.addAndGet(partitionsDropped);
+        totalDurationMs.addAndGet(duration);
+        lastRowsPurged = rows;
+        lastDurationMs = duration;
+        lastRunAt = new Date(startedAt);
+
+        log.info("Token blacklist purge: {} rows, {} partitions dropped in {} ms", rows, partitionsDropped, duration);
+    }
+
+    // Hapus per batch sampai batch terakhir tidak penuh
+    private long deleteExpiredInBatches(Date now) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = tokenBlacklistRepository.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+        } while (deleted >= batchSize);
+        return total;
+    }
+
+    /**
+     * DROP partisi yang batas atasnya sudah lewat (semua token di dalamnya kedaluwarsa sebelum hari ini)
+     * dan pecah pmax untuk hari ini sampai partitionDaysAhead hari ke depan.
+     * Mengembalikan jumlah partisi yang di-drop.
+     */
+    private int maintainPartitions() {
+        LocalDate today = jdbcTemplate.queryForObject("SELECT CURRENT_DATE", LocalDate.class);
+        long todayToDays = toDays(today);
+
+        List<Map<String, Object>> partitions = jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'token_blacklist' AND PARTITION_NAME IS NOT NULL");
+
+        List<String> expired = new ArrayList<>();
+        Set<String> existing = new HashSet<>();
+        long highestBound = Long.MIN_VALUE;
+        for (Map<String, Object> partition : partitions) {
+            String name = (String) partition.get("PARTITION_NAME");
+            String description = String.valueOf(partition.get("PARTITION_DESCRIPTION"));
+            existing.add(name);
+            if (MAX_PARTITION.equals(name) || "MAXVALUE".equalsIgnoreCase(description)) {
+                continue;
+            }
+            long bound = Long.parseLong(description);
+            highestBound = Math.max(highestBound, bound);
+            if (bound <= todayToDays) {
+                expired.add(name);
+            }
+        }
+
+        if (!expired.isEmpty()) {
+            jdbcTemplate.execute("ALTER TABLE token_blacklist DROP PARTITION " + String.join(", ", expired));
+        }
+
+        if (existing.contains(MAX_PARTITION)) {
+            for (int day = 0; day <= partitionDaysAhead; day++) {
+                LocalDate date = today.plusDays(day);
+                // Batas partisi RANGE harus naik, jadi hanya hari setelah partisi terakhir yang bisa ditambah
+                if (toDays(date.plusDays(1)) <= highestBound) {
+                    continue;
+                }
+                String name = date.format(PARTITION_NAME);
+                // Partisi hari 'date' berisi token dengan expiry_date < date + 1 hari
+                jdbcTemplate.execute("ALTER TABLE token_blacklist REORGANIZE PARTITION " + MAX_PARTITION + " INTO (" +
+                        "PARTITION " + name + " VALUES LESS THAN (" + toDays(date.plusDays(1)) + "), " +
+                        "PARTITION " + MAX_PARTITION + " VALUES LESS THAN MAXVALUE)");
+            }
+        }
+        return expired.size();
+    }
+
+    private static long toDays(LocalDate date) {
+        return date.toEpochDay() + TO_DAYS_EPOCH_OFFSET;
+    }
+
+    public long getTotalRowsPurged() {
+        return totalRowsPurged.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("runs", runs.get());
+        stats.put("failures", failures.get());
+        stats.put("totalRowsPurged", totalRowsPurged.get());
+        stats.put("totalPartitionsDropped", totalPartitionsDropped.get());
+        stats.put("totalDurationMs", totalDurationMs.get());
+        stats.put("lastRowsPurged", lastRowsPurged);
+        stats.put("lastDurationMs", lastDurationMs);
+        stats.put("lastRunAt", lastRunAt);
+        stats.put("partitioned", partitioned);
+        return stats;
+    }
+}
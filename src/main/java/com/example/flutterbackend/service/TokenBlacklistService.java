@@ -2,63 +2,128 @@ package com.example.flutterbackend.service;
 
 import com.example.flutterbackend.model.TokenBlacklist;
 import com.example.flutterbackend.repository.TokenBlacklistRepository;
+import com.example.flutterbackend.security.JwtClaimsCache;
 import com.example.flutterbackend.security.JwtUtil;
+import com.example.flutterbackend.security.RevokedTokenIndex;
+import com.example.flutterbackend.security.TokenClaims;
+import com.example.flutterbackend.security.TokenDigest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.Date;
+import java.util.List;
 
 @Service
 public class TokenBlacklistService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenBlacklistService.class);
     
     @Autowired
     private TokenBlacklistRepository tokenBlacklistRepository;
     
     @Autowired
     private JwtUtil jwtUtil;
+
+    @Autowired
+    private JwtClaimsCache jwtClaimsCache;
+
+    @Autowired
+    private RevokedTokenIndex revokedTokenIndex;
+
+    private static final int SYNC_BATCH_SIZE = 1000;
+    private static final long SYNC_OVERLAP_MS = 60_000L;
+
+    private volatile long lastSyncStartedAt = System.currentTimeMillis();
     
     // Add token to blacklist
     public void blacklistToken(String token, Long userId) {
         try {
-            System.out.println("=== Blacklisting token for user: " + userId + " ===");
-            
-            // Extract expiry date from token
-            Date expiryDate = jwtUtil.extractExpiration(token);
+            log.debug("Blacklisting token for user: {}", userId);
             
-            // Create blacklist entry
-            TokenBlacklist blacklistEntry = new TokenBlacklist(token, userId, expiryDate);
+            // Token diparse sekali untuk expiry dan jti; yang disimpan hanya digest-nya
+            TokenClaims claims = jwtUtil.parseToken(token);
+            byte[] tokenHash = TokenDigest.sha256(token);
+            Date expiryDate = Date.from(claims.expiresAt());
+
+            // Langsung berlaku di instance ini
+            revokedTokenIndex.add(TokenDigest.of(tokenHash), claims.expiresAt());
+
+            // Token sudah tidak boleh dipakai, buang dari cache claims terverifikasi
+            jwtClaimsCache.invalidate(token);
             
-            // Save to database
-            tokenBlacklistRepository.save(blacklistEntry);
+            // Logout berulang dengan token yang sama: baris sudah ada (unique index token_hash)
+            if (tokenBlacklistRepository.existsByTokenHash(tokenHash)) {
+                log.debug("Token already blacklisted");
+                return;
+            }
+
+            // Save to database (log permanen; instance lain membacanya lewat syncFromDatabase)
+            tokenBlacklistRepository.save(new TokenBlacklist(tokenHash, claims.tokenId(), userId, expiryDate));
             
-            System.out.println("Token blacklisted successfully");
+            log.debug("Token blacklisted successfully");
+        } catch (DataIntegrityViolationException e) {
+            // Request logout paralel untuk token yang sama sudah lebih dulu menyimpan barisnya
+            log.debug("Token already blacklisted");
         } catch (Exception e) {
-            System.err.println("Error blacklisting token: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error blacklisting token: {}", e.getMessage(), e);
         }
     }
     
-    // Check if token is blacklisted
+    // Check if token is blacklisted (in-memory, tanpa query database)
     public boolean isTokenBlacklisted(String token) {
+        return revokedTokenIndex.isRevoked(TokenDigest.sha256(token));
+    }
+
+    // Variant untuk JwtFilter yang sudah menghitung SHA-256 token
+    public boolean isTokenBlacklisted(byte[] tokenSha256) {
+        return revokedTokenIndex.isRevoked(tokenSha256);
+    }
+
+    // Muat semua token blacklist yang masih berlaku saat aplikasi start
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        int loaded = loadSince(new Date(0));
+        log.info("Token blacklist index warmed up: {} active tokens", loaded);
+    }
+
+    // Ambil token yang di-blacklist instance lain. Jendela waktu dibuat tumpang tindih
+    // (SYNC_OVERLAP_MS) agar baris yang commit terlambat tetap terbaca; menambah ulang aman.
+    @Scheduled(fixedDelayString = "${app.token-blacklist.sync-interval-ms:10000}",
+               initialDelayString = "${app.token-blacklist.sync-interval-ms:10000}")
+    public void syncFromDatabase() {
         try {
-            return tokenBlacklistRepository.existsByToken(token);
+            long startedAt = System.currentTimeMillis();
+            int loaded = loadSince(new Date(lastSyncStartedAt - SYNC_OVERLAP_MS));
+            lastSyncStartedAt = startedAt;
+            if (loaded > 0) {
+                log.info("Token blacklist index synced: {} tokens", loaded);
+            }
         } catch (Exception e) {
-            System.err.println("Error checking blacklisted token: " + e.getMessage());
-            return false;
+            log.warn("Error syncing token blacklist: {}", e.getMessage());
         }
     }
-    
-    // Clean up expired tokens (run every hour)
-    @Scheduled(fixedRate = 3600000/4) // 1 hour
-    public void cleanupExpiredTokens() {
-        try {
-            System.out.println("=== Cleaning up expired blacklisted tokens ===");
-            Date now = new Date();
-            tokenBlacklistRepository.deleteAllExpired(now);
-            System.out.println("Expired tokens cleaned up successfully");
-        } catch (Exception e) {
-            System.err.println("Error cleaning up expired tokens: " + e.getMessage());
+
+    private int loadSince(Date since) {
+        Date now = new Date();
+        long afterId = 0L;
+        int loaded = 0;
+        while (true) {
+            List<TokenBlacklist> batch = tokenBlacklistRepository.findActiveSince(since, now, afterId, PageRequest.of(0, SYNC_BATCH_SIZE));
+            for (TokenBlacklist entry : batch) {
+                revokedTokenIndex.add(TokenDigest.of(entry.getTokenHash()), entry.getExpiryDate().toInstant());
+                afterId = entry.getId();
+            }
+            loaded += batch.size();
+            if (batch.size() < SYNC_BATCH_SIZE) {
+                return loaded;
+            }
         }
     }
 }
@@ -1,26 +1,57 @@
 package com.example.flutterbackend.service;
 
+import com.example.flutterbackend.dto.CategoryDTO;
 import com.example.flutterbackend.dto.TransactionDTO;
+import com.example.flutterbackend.dto.TransactionPageDTO;
 import com.example.flutterbackend.dto.TransactionSummaryDTO;
+import com.example.flutterbackend.exception.AccessDeniedException;
+import com.example.flutterbackend.exception.BadRequestException;
+import com.example.flutterbackend.exception.ResourceNotFoundException;
 import com.example.flutterbackend.model.Category;
 import com.example.flutterbackend.model.Transaction;
 import com.example.flutterbackend.model.User;
 import com.example.flutterbackend.repository.CategoryRepository;
+import com.example.flutterbackend.repository.IncomeExpenseTotals;
 import com.example.flutterbackend.repository.TransactionRepository;
 import com.example.flutterbackend.repository.UserRepository;
+import com.example.flutterbackend.util.CsvWriter;
 import com.example.flutterbackend.util.HeaderFooterPageEvent;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Locale;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.io.ByteArrayOutputStream;
 
 import com.itextpdf.text.BaseColor;
@@ -40,6 +71,8 @@ import java.util.Locale;
 @Service
 public class TransactionService {
 
+    private static final Logger log = LoggerFactory.getLogger(TransactionService.class);
+
     @Autowired
     private TransactionRepository transactionRepository;
 
@@ -49,8 +82,39 @@ public class TransactionService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final int PDF_TABLE_FLUSH_ROWS = 200;
+
+    @Value("${app.transactions.page-size.default:20}")
+    private int defaultPageSize;
+
+    @Value("${app.transactions.page-size.max:100}")
+    private int maxPageSize;
+
+    @Value("${app.transactions.bulk.max-size:1000}")
+    private int maxBulkSize;
+
     // Konversi Transaction ke TransactionDTO
     private TransactionDTO convertToDTO(Transaction transaction) {
+        return convertToDTO(transaction, transaction.getTransactionType());
+    }
+
+    // Tipe transaksi diberikan pemanggil, agar proxy kategori (getReferenceById) tidak perlu dimuat
+    private TransactionDTO convertToDTO(Transaction transaction, String transactionType) {
         TransactionDTO dto = new TransactionDTO();
         dto.setTransactionId(transaction.getTransactionId());
         dto.setTransactionAmount(transaction.getTransactionAmount());
@@ -59,14 +123,38 @@ public class TransactionService {
         dto.setCategoryId(transaction.getCategory() != null ? transaction.getCategory().getCategoryId() : null);
         dto.setUserId(transaction.getUser() != null ? transaction.getUser().getUserId() : null);
         dto.setIsDeleted(transaction.getIsDeleted());
-        dto.setTransactionType(transaction.getTransactionType());
+        dto.setTransactionType(transactionType);
         return dto;
     }
 
+    // Kategori aktif milik user dari index kategori per user (CategoryCache); jika tidak ada di index,
+    // satu query menentukan apakah kategori milik user (diterima), milik user lain (403), atau tidak ada (404)
+    private CategoryDTO findOwnedCategory(Long userId, Long categoryId) {
+        try {
+            return categoryService.findOwnedCategory(userId, categoryId);
+        } catch (AccessDeniedException e) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Kategori tidak dapat digunakan oleh user ini");
+        } catch (ResourceNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Kategori tidak ditemukan");
+        }
+    }
+
+    // Tipe income/expense kategori transaksi yang sudah ada: dari index kategori, proxy hanya dimuat jika tidak ada di index
+    private Boolean isExpense(Long userId, Category category) {
+        CategoryDTO indexed = categoryService.getCategorySnapshot(userId).find(category.getCategoryId());
+        return indexed != null ? indexed.getIsExpense() : category.getIsExpense();
+    }
+
+    private static String transactionType(Boolean isExpense) {
+        return Boolean.TRUE.equals(isExpense) ? "EXPENSE" : "INCOME";
+    }
+
     // 1. CREATE: Buat transaksi baru
+    // Semua penulis tabel transactions memakai write-timeout yang sama; feed sync bergantung pada batas ini
+    @Transactional(timeoutString = "${app.transactions.write-timeout-seconds:15}")
     public TransactionDTO createTransaction(TransactionDTO dto) {
         try {
-            System.out.println("=== TransactionService.createTransaction() called ===");
+            log.debug("TransactionService.createTransaction() called");
             
             // Validasi input
             if (dto.getTransactionAmount() == null || dto.getTransactionAmount().compareTo(BigDecimal.ZERO) <= 0) {
@@ -85,46 +173,115 @@ public class TransactionService {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User ID wajib diisi");
             }
 
-            // Validasi kategori
-            Category category = categoryRepository.findById(dto.getCategoryId())
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Kategori tidak ditemukan"));
+            // Validasi kategori & kepemilikan dari index kategori user (user tidak ada -> 404 saat index dimuat)
+            CategoryDTO category = findOwnedCategory(dto.getUserId(), dto.getCategoryId());
 
-            // Validasi user
-            User user = userRepository.findById(dto.getUserId())
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User tidak ditemukan"));
-            
-            // Pastikan kategori milik user yang sama
-            if (!category.getCreatedBy().getUserId().equals(dto.getUserId())) {
-                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Kategori tidak dapat digunakan oleh user ini");
-            }
-
-            // Buat entitas Transaction
+            // Buat entitas Transaction; kategori & user cukup sebagai referensi (foreign key), tanpa SELECT
             Transaction transaction = new Transaction();
             transaction.setTransactionAmount(dto.getTransactionAmount());
             transaction.setTransactionDescription(dto.getTransactionDescription());
             transaction.setTransactionDate(dto.getTransactionDate());
-            transaction.setCategory(category);
-            transaction.setUser(user);
+            transaction.setCategory(categoryRepository.getReferenceById(category.getCategoryId()));
+            transaction.setUser(userRepository.getReferenceById(dto.getUserId()));
             transaction.setIsDeleted(false);
 
             // Simpan ke database
             Transaction saved = transactionRepository.save(transaction);
-            System.out.println("Transaction created successfully with ID: " + saved.getTransactionId());
-            return convertToDTO(saved);
+            rollupService.recordTransaction(dto.getUserId(), category.getCategoryId(), category.getIsExpense(),
+                    saved.getTransactionDate(), saved.getTransactionAmount(), 1);
+            eventPublisher.publishEvent(new UserDataChangedEvent(dto.getUserId()));
+            log.debug("Transaction created successfully with ID: {}", saved.getTransactionId());
+            return convertToDTO(saved, transactionType(category.getIsExpense()));
             
         } catch (ResponseStatusException e) {
             throw e;
         } catch (Exception e) {
-            System.err.println("Error creating transaction: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error creating transaction: {}", e.getMessage(), e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to create transaction: " + e.getMessage());
         }
     }
 
+    // 1b. BULK CREATE: Buat banyak transaksi sekaligus (import), semua atau tidak sama sekali.
+    // Kategori diambil dalam satu query, ID dialokasikan per 50 dari sequence, dan insert dikirim
+    // per hibernate.jdbc.batch_size baris; rollup diperbarui sekali per (bulan, kategori).
+    @Transactional(timeoutString = "${app.transactions.write-timeout-seconds:15}")
+    public List<TransactionDTO> createTransactions(Long userId, List<TransactionDTO> dtos) {
+        log.debug("TransactionService.createTransactions() called for user: {}, size: {}", userId, dtos == null ? 0 : dtos.size());
+
+        if (dtos == null || dtos.isEmpty()) {
+            throw new BadRequestException("Daftar transaksi tidak boleh kosong");
+        }
+        if (dtos.size() > maxBulkSize) {
+            throw new BadRequestException("Maksimal " + maxBulkSize + " transaksi per request");
+        }
+
+        Set<Long> categoryIds = new HashSet<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            TransactionDTO dto = dtos.get(i);
+            String position = "Transaksi ke-" + (i + 1) + ": ";
+            if (dto == null) {
+                throw new BadRequestException(position + "data kosong");
+            }
+            if (dto.getTransactionAmount() == null || dto.getTransactionAmount().compareTo(BigDecimal.ZERO) <= 0) {
+                throw new BadRequestException(position + "Amount harus lebih besar dari 0");
+            }
+            if (dto.getTransactionDate() == null) {
+                throw new BadRequestException(position + "Tanggal transaksi wajib diisi");
+            }
+            if (dto.getCategoryId() == null) {
+                throw new BadRequestException(position + "Kategori wajib dipilih");
+            }
+            if (dto.getUserId() != null && !dto.getUserId().equals(userId)) {
+                throw new AccessDeniedException(position + "Anda hanya bisa membuat transaksi untuk diri sendiri");
+            }
+            categoryIds.add(dto.getCategoryId());
+        }
+
+        // Kepemilikan kategori dari index kategori user; query hanya untuk kategori yang tidak ada di index
+        Map<Long, CategoryDTO> categories = new HashMap<>();
+        for (Long categoryId : categoryIds) {
+            categories.put(categoryId, categoryService.findOwnedCategory(userId, categoryId));
+        }
+        User user = userRepository.getReferenceById(userId);
+
+        List<Transaction> transactions = new ArrayList<>(dtos.size());
+        // Total per (kategori, bulan) untuk rollup
+        Map<Long, Map<YearMonth, BigDecimal[]>> totals = new HashMap<>();
+        for (TransactionDTO dto : dtos) {
+            CategoryDTO category = categories.get(dto.getCategoryId());
+            Transaction transaction = new Transaction();
+            transaction.setTransactionAmount(dto.getTransactionAmount());
+            transaction.setTransactionDescription(dto.getTransactionDescription());
+            transaction.setTransactionDate(dto.getTransactionDate());
+            transaction.setCategory(categoryRepository.getReferenceById(category.getCategoryId()));
+            transaction.setUser(user);
+            transaction.setIsDeleted(false);
+            transactions.add(transaction);
+
+            BigDecimal[] total = totals.computeIfAbsent(category.getCategoryId(), id -> new HashMap<>())
+                    .computeIfAbsent(YearMonth.from(dto.getTransactionDate()), month -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+            total[0] = total[0].add(dto.getTransactionAmount());
+            total[1] = total[1].add(BigDecimal.ONE);
+        }
+
+        // Rollup lebih dulu: query update-nya memicu auto-flush, yang akan memeriksa semua transaksi
+        // baru di persistence context jika dijalankan setelah saveAll
+        totals.forEach((categoryId, months) -> months.forEach((month, total) ->
+                rollupService.recordTransactions(userId, categoryId, categories.get(categoryId).getIsExpense(),
+                        month, total[0], total[1].longValue())));
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+        log.debug("Bulk created {} transactions for user {}", saved.size(), userId);
+
+        return saved.stream()
+                .map(t -> convertToDTO(t, transactionType(categories.get(t.getCategory().getCategoryId()).getIsExpense())))
+                .collect(Collectors.toList());
+    }
+
     // 2. READ: Ambil semua transaksi user
     public List<TransactionDTO> getTransactionsByUserId(Long userId) {
         try {
-            System.out.println("=== TransactionService.getTransactionsByUserId() called for user: " + userId + " ===");
+            log.debug("TransactionService.getTransactionsByUserId() called for user: {}", userId);
             
             User user = userRepository.findById(userId)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User tidak ditemukan"));
@@ -137,16 +294,72 @@ public class TransactionService {
         } catch (ResponseStatusException e) {
             throw e;
         } catch (Exception e) {
-            System.err.println("Error getting transactions: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error getting transactions: {}", e.getMessage(), e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to get transactions: " + e.getMessage());
         }
     }
 
+    // 2b. READ: Ambil transaksi user per halaman (keyset pagination)
+    // Urutan stabil (transactionDate DESC, transactionId DESC); cursor menunjuk baris terakhir halaman sebelumnya
+    public TransactionPageDTO getTransactionsPageByUserId(Long userId, Integer limit, String cursor) {
+        int pageSize = limit == null ? defaultPageSize : limit;
+        if (pageSize <= 0 || pageSize > maxPageSize) {
+            throw new BadRequestException("Limit harus antara 1 dan " + maxPageSize);
+        }
+
+        // Ambil satu baris lebih untuk mengetahui apakah masih ada halaman berikutnya
+        PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+        List<Transaction> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = transactionRepository.findPageByUserId(userId, pageRequest);
+        } else {
+            String[] position = decodeCursor(cursor);
+            transactions = transactionRepository.findPageByUserIdAfterCursor(
+                    userId, LocalDate.parse(position[0]), Long.valueOf(position[1]), pageRequest);
+        }
+
+        boolean hasMore = transactions.size() > pageSize;
+        if (hasMore) {
+            transactions = transactions.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = transactions.get(transactions.size() - 1);
+            nextCursor = encodeCursor(last.getTransactionDate(), last.getTransactionId());
+        }
+
+        List<TransactionDTO> items = transactions.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return new TransactionPageDTO(items, nextCursor, hasMore, pageSize);
+    }
+
+    // Cursor opaque: base64url dari "tanggal|id" baris terakhir
+    private String encodeCursor(LocalDate transactionDate, Long transactionId) {
+        String raw = transactionDate + "|" + transactionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] position = raw.split("\\|");
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Format cursor salah");
+            }
+            LocalDate.parse(position[0]);
+            Long.valueOf(position[1]);
+            return position;
+        } catch (Exception e) {
+            throw new BadRequestException("Cursor tidak valid");
+        }
+    }
+
     // 3. READ: Ambil transaksi berdasarkan ID
     public TransactionDTO getTransactionByIdAndUserId(Long transactionId, Long userId) {
         try {
-            System.out.println("=== TransactionService.getTransactionByIdAndUserId() called ===");
+            log.debug("TransactionService.getTransactionByIdAndUserId() called");
             
             User user = userRepository.findById(userId)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User tidak ditemukan"));
@@ -164,20 +377,18 @@ public class TransactionService {
         } catch (ResponseStatusException e) {
             throw e;
         } catch (Exception e) {
-            System.err.println("Error getting transaction by ID: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error getting transaction by ID: {}", e.getMessage(), e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to get transaction: " + e.getMessage());
         }
     }
 
     // 4. UPDATE: Update transaksi
+    @Transactional(timeoutString = "${app.transactions.write-timeout-seconds:15}")
     public TransactionDTO updateTransaction(Long transactionId, TransactionDTO dto, Long userId) {
         try {
-            System.out.println("=== TransactionService.updateTransaction() called ===");
-            
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User tidak ditemukan"));
+            log.debug("TransactionService.updateTransaction() called");
 
+            // Kepemilikan dicek lewat user_id transaksi (id proxy user, tanpa query ke tabel users)
             Transaction transaction = transactionRepository.findById(transactionId)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Transaksi tidak ditemukan"));
 
@@ -186,6 +397,13 @@ public class TransactionService {
                 throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Tidak memiliki akses ke transaksi ini");
             }
 
+            // Simpan nilai lama untuk koreksi rollup (jumlah/kategori/tanggal bisa berpindah)
+            Category oldCategory = transaction.getCategory();
+            LocalDate oldDate = transaction.getTransactionDate();
+            BigDecimal oldAmount = transaction.getTransactionAmount();
+            Long oldCategoryId = oldCategory.getCategoryId();
+            Boolean oldIsExpense = isExpense(userId, oldCategory);
+
             // Update field
             if (dto.getTransactionAmount() != null) {
                 if (dto.getTransactionAmount().compareTo(BigDecimal.ZERO) <= 0) {
@@ -202,39 +420,37 @@ public class TransactionService {
                 transaction.setTransactionDate(dto.getTransactionDate());
             }
 
-            // Update kategori
-            if (dto.getCategoryId() != null) {
-                Category category = categoryRepository.findById(dto.getCategoryId())
-                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Kategori tidak ditemukan"));
-                
-                // Pastikan kategori milik user yang sama
-                if (!category.getCreatedBy().getUserId().equals(userId)) {
-                    throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Kategori tidak dapat digunakan oleh user ini");
-                }
-                
-                transaction.setCategory(category);
+            // Update kategori (kepemilikan dicek dari index kategori user)
+            Long newCategoryId = oldCategoryId;
+            Boolean newIsExpense = oldIsExpense;
+            if (dto.getCategoryId() != null && !dto.getCategoryId().equals(oldCategoryId)) {
+                CategoryDTO category = findOwnedCategory(userId, dto.getCategoryId());
+                transaction.setCategory(categoryRepository.getReferenceById(category.getCategoryId()));
+                newCategoryId = category.getCategoryId();
+                newIsExpense = category.getIsExpense();
             }
 
             Transaction saved = transactionRepository.save(transaction);
-            System.out.println("Transaction updated successfully");
-            return convertToDTO(saved);
+            rollupService.recordTransaction(userId, oldCategoryId, oldIsExpense, oldDate, oldAmount, -1);
+            rollupService.recordTransaction(userId, newCategoryId, newIsExpense,
+                    saved.getTransactionDate(), saved.getTransactionAmount(), 1);
+            eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+            log.debug("Transaction updated successfully");
+            return convertToDTO(saved, transactionType(newIsExpense));
             
         } catch (ResponseStatusException e) {
             throw e;
         } catch (Exception e) {
-            System.err.println("Error updating transaction: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error updating transaction: {}", e.getMessage(), e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to update transaction: " + e.getMessage());
         }
     }
 
     // 5. DELETE: Soft delete transaksi
+    @Transactional(timeoutString = "${app.transactions.write-timeout-seconds:15}")
     public TransactionDTO deleteTransaction(Long transactionId, Long userId) {
         try {
-            System.out.println("=== TransactionService.deleteTransaction() called ===");
-            
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User tidak ditemukan"));
+            log.debug("TransactionService.deleteTransaction() called");
 
             Transaction transaction = transactionRepository.findById(transactionId)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Transaksi tidak ditemukan"));
@@ -244,16 +460,19 @@ public class TransactionService {
                 throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Tidak memiliki akses ke transaksi ini");
             }
 
+            Boolean isExpense = isExpense(userId, transaction.getCategory());
             transaction.setIsDeleted(true);
             Transaction saved = transactionRepository.save(transaction);
-            System.out.println("Transaction deleted successfully");
-            return convertToDTO(saved);
+            rollupService.recordTransaction(userId, saved.getCategory().getCategoryId(), isExpense,
+                    saved.getTransactionDate(), saved.getTransactionAmount(), -1);
+            eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+            log.debug("Transaction deleted successfully");
+            return convertToDTO(saved, transactionType(isExpense));
             
         } catch (ResponseStatusException e) {
             throw e;
         } catch (Exception e) {
-            System.err.println("Error deleting transaction: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error deleting transaction: {}", e.getMessage(), e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to delete transaction: " + e.getMessage());
         }
     }
@@ -261,32 +480,26 @@ public class TransactionService {
     // 6. MONTHLY SUMMARY: Ringkasan transaksi bulan ini
     public TransactionSummaryDTO getMonthlySummaryByUserId(Long userId) {
         try {
-            System.out.println("=== TransactionService.getMonthlySummaryByUserId() called for user: " + userId + " ===");
-            
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User tidak ditemukan"));
+            log.debug("TransactionService.getMonthlySummaryByUserId() called for user: {}", userId);
             
             // Dapatkan tanggal awal dan akhir bulan ini
             YearMonth currentMonth = YearMonth.now();
             LocalDate startOfMonth = currentMonth.atDay(1);
             LocalDate endOfMonth = currentMonth.atEndOfMonth();
             
-            System.out.println("Calculating summary for period: " + startOfMonth + " to " + endOfMonth);
-            
-            // Hitung total income dan expense bulan ini
-            BigDecimal totalIncome = transactionRepository.sumIncomeByUserIdAndDateRange(userId, startOfMonth, endOfMonth);
-            BigDecimal totalExpense = transactionRepository.sumExpenseByUserIdAndDateRange(userId, startOfMonth, endOfMonth);
+            log.debug("Calculating summary for period: {} to {}", startOfMonth, endOfMonth);
             
-            TransactionSummaryDTO summary = new TransactionSummaryDTO(totalIncome, totalExpense);
-            System.out.println("Monthly summary calculated - Income: " + totalIncome + ", Expense: " + totalExpense + ", Balance: " + summary.getNetBalance());
+            // Hitung total income dan expense bulan ini dari tabel rollup
+            IncomeExpenseTotals totals = rollupService.getTotals(userId, currentMonth, currentMonth);
+            TransactionSummaryDTO summary = new TransactionSummaryDTO(totals.getTotalIncome(), totals.getTotalExpense());
+            log.debug("Monthly summary calculated - Income: {}, Expense: {}, Balance: {}", summary.getTotalIncome(), summary.getTotalExpense(), summary.getNetBalance());
             
             return summary;
             
         } catch (ResponseStatusException e) {
             throw e;
         } catch (Exception e) {
-            System.err.println("Error calculating monthly summary: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error calculating monthly summary: {}", e.getMessage(), e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to calculate monthly summary: " + e.getMessage());
         }
     }
@@ -294,65 +507,91 @@ public class TransactionService {
     // 7. YEARLY SUMMARY: Ringkasan transaksi tahun ini (bonus)
     public TransactionSummaryDTO getYearlySummaryByUserId(Long userId) {
         try {
-            System.out.println("=== TransactionService.getYearlySummaryByUserId() called for user: " + userId + " ===");
-            
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User tidak ditemukan"));
+            log.debug("TransactionService.getYearlySummaryByUserId() called for user: {}", userId);
             
-            // Dapatkan tanggal awal dan akhir tahun ini
+            // Dapatkan bulan awal dan akhir tahun ini
             int currentYear = LocalDate.now().getYear();
-            LocalDate startOfYear = LocalDate.of(currentYear, 1, 1);
-            LocalDate endOfYear = LocalDate.of(currentYear, 12, 31);
+            YearMonth startOfYear = YearMonth.of(currentYear, 1);
+            YearMonth endOfYear = YearMonth.of(currentYear, 12);
             
-            // Hitung total income dan expense tahun ini
-            BigDecimal totalIncome = transactionRepository.sumIncomeByUserIdAndDateRange(userId, startOfYear, endOfYear);
-            BigDecimal totalExpense = transactionRepository.sumExpenseByUserIdAndDateRange(userId, startOfYear, endOfYear);
-            
-            return new TransactionSummaryDTO(totalIncome, totalExpense);
+            // Hitung total income dan expense tahun ini dari tabel rollup (maksimal 12 bulan x kategori)
+            IncomeExpenseTotals totals = rollupService.getTotals(userId, startOfYear, endOfYear);
+            return new TransactionSummaryDTO(totals.getTotalIncome(), totals.getTotalExpense());
             
         } catch (ResponseStatusException e) {
             throw e;
         } catch (Exception e) {
-            System.err.println("Error calculating yearly summary: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error calculating yearly summary: {}", e.getMessage(), e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to calculate yearly summary: " + e.getMessage());
         }
     }
 
-    public byte[] generateCsvReport(Long userId, LocalDate startDate, LocalDate endDate) {
+    // Ringkasan income/expense untuk rentang tanggal bebas (laporan), satu round-trip ke database
+    private TransactionSummaryDTO summarize(Long userId, LocalDate startDate, LocalDate endDate) {
+        IncomeExpenseTotals totals = transactionRepository.sumTotalsByUserIdAndDateRange(userId, startDate, endDate);
+        return new TransactionSummaryDTO(totals.getTotalIncome(), totals.getTotalExpense());
+    }
+
+    // Tulis laporan CSV langsung ke writer tujuan (mis. response HTTP), baris per baris.
+    // Transaksi di-stream dari database dan di-detach setelah ditulis, sehingga memori konstan
+    // berapapun panjang rentang tanggalnya. Mengembalikan jumlah baris data yang ditulis.
+    @Transactional(readOnly = true)
+    public long writeCsvReport(Long userId, LocalDate startDate, LocalDate endDate, Writer writer) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean success = false;
         try {
-            List<Transaction> transactions = transactionRepository.findByUserIdAndDateRange(userId, startDate, endDate);
-
-            StringBuilder csvContent = new StringBuilder();
-            // CSV Header - Template Laporan (terstruktur)
-            csvContent.append("Date,Type,Category,Description,Amount\n");
-
-            // CSV Data - Dinamis berdasarkan data transaksi
-            for (Transaction tx : transactions) {
-                csvContent.append(tx.getTransactionDate().toString()).append(",");
-                csvContent.append(tx.getTransactionType()).append(",");
-                String categoryName = "N/A";
-                if (tx.getCategory() != null) {
-                    categoryName = tx.getCategory().getCategoryName();
-                }
-                csvContent.append(categoryName.replace(",", ";")).append(","); // Handle commas in category name
-                csvContent.append(tx.getTransactionDescription() != null ? tx.getTransactionDescription().replace(",", ";") : "").append(","); // Handle commas in description
-                csvContent.append(tx.getTransactionAmount().toPlainString()).append("\n");
+            long rows = writeCsvRows(userId, startDate, endDate, writer);
+            success = true;
+            return rows;
+        } finally {
+            recordReportRender("csv", sample, success);
+        }
+    }
+
+    private long writeCsvRows(Long userId, LocalDate startDate, LocalDate endDate, Writer writer) throws IOException {
+        CsvWriter csv = new CsvWriter(writer);
+        // CSV Header - Template Laporan (terstruktur)
+        csv.writeRow("Date", "Type", "Category", "Description", "Amount");
+
+        long rows = 0;
+        try (Stream<Transaction> transactions = transactionRepository.streamByUserIdAndDateRange(userId, startDate, endDate)) {
+            Iterator<Transaction> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                Transaction tx = iterator.next();
+                String categoryName = tx.getCategory() != null ? tx.getCategory().getCategoryName() : "N/A";
+                csv.writeRow(
+                        tx.getTransactionDate().toString(),
+                        tx.getTransactionType(),
+                        categoryName,
+                        tx.getTransactionDescription(),
+                        tx.getTransactionAmount().toPlainString());
+                // Lepas dari persistence context agar tidak menumpuk selama ekspor
+                entityManager.detach(tx);
+                rows++;
             }
-            return csvContent.toString().getBytes("UTF-8");
-        } catch (Exception e) {
-            System.err.println("Error generating CSV report: " + e.getMessage());
-            e.printStackTrace();
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to generate CSV report: " + e.getMessage());
         }
+        csv.flush();
+        return rows;
     }
 
+    @Transactional(readOnly = true)
     public byte[] generatePdfReport(Long userId, LocalDate startDate, LocalDate endDate) {
-    // Gunakan try-with-resources
-    try (java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream()) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writePdfReport(userId, startDate, endDate, baos);
+        return baos.toByteArray();
+    }
+
+    // Tulis laporan PDF ke output stream tujuan (response HTTP atau file job laporan).
+    // Transaksi di-stream dari database dan tabel dikirim ke dokumen setiap PDF_TABLE_FLUSH_ROWS baris
+    // (large table iText), sehingga baris yang sudah di-render tidak ditahan di memori.
+    @Transactional(readOnly = true)
+    public void writePdfReport(Long userId, LocalDate startDate, LocalDate endDate, OutputStream out) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    boolean success = false;
+    try {
         // --- 0. Pengaturan Dokumen ---
         Document document = new Document(PageSize.A4, 36, 36, 90, 36); // Margin: Kiri, Kanan, Atas, Bawah
-        PdfWriter writer = PdfWriter.getInstance(document, baos);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
         
         // Menambahkan event handler untuk Header/Footer
         HeaderFooterPageEvent event = new HeaderFooterPageEvent();
@@ -379,9 +618,10 @@ public class TransactionService {
         document.add(subJudul);
 
         // --- 3. Mengambil dan Menghitung Data Ringkasan ---
-        BigDecimal totalIncome = transactionRepository.sumIncomeByUserIdAndDateRange(userId, startDate, endDate);
-        BigDecimal totalExpense = transactionRepository.sumExpenseByUserIdAndDateRange(userId, startDate, endDate);
-        BigDecimal netBalance = totalIncome.subtract(totalExpense);
+        TransactionSummaryDTO summary = summarize(userId, startDate, endDate);
+        BigDecimal totalIncome = summary.getTotalIncome();
+        BigDecimal totalExpense = summary.getTotalExpense();
+        BigDecimal netBalance = summary.getNetBalance();
         NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(new Locale("id", "ID"));
         
         // --- 4. Menampilkan Ringkasan ---
@@ -401,31 +641,19 @@ public class TransactionService {
         document.add(Chunk.NEWLINE); // Spasi
 
         // --- 5. Membuat Tabel Detail Transaksi ---
-        List<Transaction> transactions = transactionRepository.findByUserIdAndDateRange(userId, startDate, endDate);
-
-        if (transactions.isEmpty()) {
-            document.add(new Paragraph("No transactions found for this period."));
-        } else {
-            PdfPTable table = new PdfPTable(4); // Kolom: Tanggal, Kategori, Deskripsi, Jumlah
-            table.setWidthPercentage(100);
-            table.setSpacingBefore(10);
-            
-            // --- Header Tabel ---
-            String[] headers = {"Date", "Category", "Description", "Amount"};
-            for (String headerTitle : headers) {
-                PdfPCell headerCell = new PdfPCell();
-                headerCell.setBackgroundColor(new BaseColor(63, 81, 181)); // Warna ungu tua
-                headerCell.setPhrase(new Phrase(headerTitle, fontHeaderTabel));
-                headerCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                headerCell.setPadding(5);
-                table.addCell(headerCell);
-            }
-
-            // --- Isi Tabel ---
-            boolean alternate = false;
-            BaseColor colorZebra = new BaseColor(240, 240, 240); // Abu-abu muda
+        PdfPTable table = null;
+        long rows = 0;
+        boolean alternate = false;
+        BaseColor colorZebra = new BaseColor(240, 240, 240); // Abu-abu muda
+
+        try (Stream<Transaction> transactions = transactionRepository.streamByUserIdAndDateRange(userId, startDate, endDate)) {
+            Iterator<Transaction> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                Transaction tx = iterator.next();
+                if (table == null) {
+                    table = createTransactionTable(fontHeaderTabel);
+                }
 
-            for (Transaction tx : transactions) {
                 // Kolom Tanggal
                 PdfPCell dateCell = new PdfPCell(new Phrase(tx.getTransactionDate().toString(), fontIsiTabel));
                 // Kolom Kategori
@@ -445,16 +673,60 @@ public class TransactionService {
                     table.addCell(cell);
                 }
                 alternate = !alternate;
+                entityManager.detach(tx);
+
+                // Kirim baris yang sudah lengkap ke dokumen agar tidak menumpuk di memori
+                if (++rows % PDF_TABLE_FLUSH_ROWS == 0) {
+                    document.add(table);
+                }
             }
+        }
+
+        if (table == null) {
+            document.add(new Paragraph("No transactions found for this period."));
+        } else {
+            table.setComplete(true);
             document.add(table);
         }
 
         document.close();
-        return baos.toByteArray();
+        success = true;
 
     } catch (Exception e) {
-        e.printStackTrace();
+        log.error("Error generating PDF report for user {}: {}", userId, e.getMessage(), e);
         throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error while generating PDF report", e);
+    } finally {
+        recordReportRender("pdf", sample, success);
     }
 }
+
+    // Waktu render laporan (ekspor langsung maupun job), per format dan hasil
+    private void recordReportRender(String format, Timer.Sample sample, boolean success) {
+        sample.stop(Timer.builder("app.report.render")
+                .description("CSV/PDF report rendering, including streaming rows from the database")
+                .tag("format", format)
+                .tag("outcome", success ? "success" : "error")
+                .register(meterRegistry));
+    }
+
+    // Tabel transaksi dengan header; setComplete(false) agar bisa ditambahkan ke dokumen bertahap
+    private PdfPTable createTransactionTable(Font fontHeaderTabel) {
+        PdfPTable table = new PdfPTable(4); // Kolom: Tanggal, Kategori, Deskripsi, Jumlah
+        table.setWidthPercentage(100);
+        table.setSpacingBefore(10);
+        table.setHeaderRows(1);
+        table.setComplete(false);
+
+        // --- Header Tabel ---
+        String[] headers = {"Date", "Category", "Description", "Amount"};
+        for (String headerTitle : headers) {
+            PdfPCell headerCell = new PdfPCell();
+            headerCell.setBackgroundColor(new BaseColor(63, 81, 181)); // Warna ungu tua
+            headerCell.setPhrase(new Phrase(headerTitle, fontHeaderTabel));
+            headerCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+            headerCell.setPadding(5);
+            table.addCell(headerCell);
+        }
+        return table;
+    }
 }
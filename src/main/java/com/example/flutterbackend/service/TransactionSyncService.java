@@ -0,0 +1,477 @@
+package com.example.flutterbackend.service;
+
+import com.example.flutterbackend.dto.CategoryDTO;
+import com.example.flutterbackend.dto.SyncOperationDTO;
+import com.example.flutterbackend.dto.SyncRequestDTO;
+import com.example.flutterbackend.dto.SyncResponseDTO;
+import com.example.flutterbackend.dto.SyncResultDTO;
+import com.example.flutterbackend.dto.TransactionDTO;
+import com.example.flutterbackend.exception.AccessDeniedException;
+import com.example.flutterbackend.exception.BadRequestException;
+import com.example.flutterbackend.exception.ConflictException;
+import com.example.flutterbackend.exception.ResourceNotFoundException;
+import com.example.flutterbackend.model.SyncOperation;
+import com.example.flutterbackend.model.Transaction;
+import com.example.flutterbackend.model.User;
+import com.example.flutterbackend.repository.CategoryRepository;
+import com.example.flutterbackend.repository.SyncOperationRepository;
+import com.example.flutterbackend.repository.TransactionChange;
+import com.example.flutterbackend.repository.TransactionRepository;
+import com.example.flutterbackend.repository.UserRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Sync batch untuk client offline-first: operasi CREATE/UPDATE/DELETE yang diantre di device dijalankan
+// berurutan dalam satu transaksi database, lalu perubahan di server sejak cursor client dikirim balik.
+// Setiap operasi membawa opId buatan client; hasilnya disimpan di sync_operations sehingga batch yang
+// dikirim ulang (koneksi putus sebelum response diterima) mengembalikan hasil yang sama tanpa menulis ulang.
+// Penolakan 403/404 tidak disimpan (lihat isFinal) dan dievaluasi ulang saat dikirim lagi.
+@Service
+public class TransactionSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSyncService.class);
+
+    static final String CREATE = "CREATE";
+    static final String UPDATE = "UPDATE";
+    static final String DELETE = "DELETE";
+    static final String APPLIED = "APPLIED";
+    static final String REJECTED = "REJECTED";
+
+    private static final int MAX_OP_ID_LENGTH = 64;
+    private static final int MAX_MESSAGE_LENGTH = 255;
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SyncOperationRepository syncOperationRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${app.sync.max-operations:500}")
+    private int maxOperations;
+
+    @Value("${app.sync.max-changes:500}")
+    private int maxChanges;
+
+    // Batas waktu setiap transaksi database yang menulis tabel transactions (lihat feed perubahan di sync)
+    @Value("${app.transactions.write-timeout-seconds:15}")
+    private long writeTimeoutSeconds;
+
+    @Value("${app.sync.cursor-margin-ms:5000}")
+    private long cursorMarginMs;
+
+    @Value("${app.sync.operation-retention-days:30}")
+    private int retentionDays;
+
+    @Value("${app.sync.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    @Transactional(timeoutString = "${app.transactions.write-timeout-seconds:15}")
+    public SyncResponseDTO sync(Long userId, SyncRequestDTO request) {
+        List<SyncOperationDTO> operations = request == null || request.getOperations() == null
+                ? List.of() : request.getOperations();
+        log.debug("TransactionSyncService.sync() called for user: {}, operations: {}", userId, operations.size());
+
+        if (operations.size() > maxOperations) {
+            throw new BadRequestException("Maksimal " + maxOperations + " operasi per sync");
+        }
+        // Cursor divalidasi sebelum ada yang ditulis
+        ChangePosition since = decodeCursor(request == null ? null : request.getCursor());
+
+        Set<String> opIds = new HashSet<>();
+        Set<Long> targetIds = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            SyncOperationDTO operation = operations.get(i);
+            String position = "Operasi ke-" + (i + 1) + ": ";
+            if (operation == null || operation.getOpId() == null || operation.getOpId().isBlank()) {
+                throw new BadRequestException(position + "opId wajib diisi");
+            }
+            if (operation.getOpId().length() > MAX_OP_ID_LENGTH) {
+                throw new BadRequestException(position + "opId maksimal " + MAX_OP_ID_LENGTH + " karakter");
+            }
+            opIds.add(operation.getOpId());
+            if (operation.getTransaction() != null && operation.getTransaction().getTransactionId() != null
+                    && !CREATE.equals(operation.getType())) {
+                targetIds.add(operation.getTransaction().getTransactionId());
+            }
+        }
+
+        // Satu query untuk operasi yang sudah pernah diproses, satu query untuk transaksi yang diubah/dihapus
+        Map<String, SyncOperation> recorded = opIds.isEmpty() ? new HashMap<>()
+                : syncOperationRepository.findByUserIdAndClientOpIdIn(userId, opIds).stream()
+                        .collect(Collectors.toMap(SyncOperation::getClientOpId, Function.identity()));
+        Map<Long, Transaction> targets = targetIds.isEmpty() ? new HashMap<>()
+                : transactionRepository.findAllByIdIncludeDeleted(targetIds).stream()
+                        .collect(Collectors.toMap(Transaction::getTransactionId, Function.identity()));
+
+        SyncBatch batch = new SyncBatch(userId, categoryService.getCategorySnapshot(userId), targets);
+        List<SyncResultDTO> results = new ArrayList<>(operations.size());
+        List<SyncOperation> newRecords = new ArrayList<>();
+        LocalDateTime now = Transaction.currentTimestamp(clock);
+        for (SyncOperationDTO operation : operations) {
+            SyncOperation previous = recorded.get(operation.getOpId());
+            if (previous != null) {
+                // Dikirim ulang (termasuk opId ganda dalam satu batch): kembalikan hasil yang tersimpan
+                results.add(toResult(previous, true));
+                continue;
+            }
+
+            SyncResultDTO result;
+            try {
+                result = apply(batch, operation);
+            } catch (BadRequestException | AccessDeniedException | ResourceNotFoundException e) {
+                ResponseStatus status = AnnotationUtils.findAnnotation(e.getClass(), ResponseStatus.class);
+                result = new SyncResultDTO(operation.getOpId(), operation.getType(), REJECTED, status.code().value(),
+                        operation.getTransaction() != null ? operation.getTransaction().getTransactionId() : null,
+                        e.getMessage(), false);
+            }
+            results.add(result);
+            if (!isFinal(result)) {
+                continue;
+            }
+
+            SyncOperation record = new SyncOperation(userId, operation.getOpId(),
+                    operation.getType() == null ? "" : truncate(operation.getType(), 10),
+                    result.getStatus(), result.getHttpStatus(), result.getTransactionId(),
+                    truncate(result.getMessage(), MAX_MESSAGE_LENGTH), now);
+            newRecords.add(record);
+            recorded.put(operation.getOpId(), record);
+        }
+
+        try {
+            batch.applyRollups();
+            syncOperationRepository.saveAll(newRecords);
+            // Flush di sini agar opId yang sedang diproses request lain (unique key) menjadi 409, bukan 500 saat commit
+            syncOperationRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Concurrent sync for user {} with the same operation IDs: {}", userId, e.getMessage());
+            throw new ConflictException("Operasi yang sama sedang diproses, kirim ulang sync");
+        }
+        if (batch.applied > 0) {
+            eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+        }
+
+        // Cursor tidak boleh melewati baris yang belum commit: updated_at diisi di dalam transaksi penulis (tidak
+        // lebih awal dari awal transaksinya), dan semua penulis tabel transactions memakai timeout
+        // app.transactions.write-timeout-seconds. Baris dengan updated_at sebelum 'now - (timeout + margin)' pasti
+        // sudah commit atau rollback; margin menutup waktu commit itu sendiri dan selisih jam antar instance.
+        // Akibatnya perubahan baru muncul di feed setelah sekitar timeout + margin.
+        LocalDateTime until = now.minusSeconds(writeTimeoutSeconds).minusNanos(cursorMarginMs * 1_000_000L);
+        List<TransactionChange> rows = transactionRepository.findChangesSince(
+                userId, since.updatedAt(), since.transactionId(), until, maxChanges + 1);
+        boolean hasMore = rows.size() > maxChanges;
+        if (hasMore) {
+            rows = rows.subList(0, maxChanges);
+        }
+
+        String cursor = request == null ? null : request.getCursor();
+        if (!rows.isEmpty()) {
+            TransactionChange last = rows.get(rows.size() - 1);
+            cursor = encodeCursor(last.getUpdatedAt(), last.getTransactionId());
+        }
+        List<TransactionDTO> changes = rows.stream()
+                .map(row -> toDTO(userId, row))
+                .collect(Collectors.toList());
+
+        log.debug("Sync for user {}: {} operations ({} applied), {} changes, hasMore: {}",
+                userId, operations.size(), batch.applied, changes.size(), hasMore);
+        return new SyncResponseDTO(results, changes, cursor, hasMore);
+    }
+
+    // Jalankan satu operasi; penolakan dilempar sebagai exception dengan @ResponseStatus yang sesuai
+    private SyncResultDTO apply(SyncBatch batch, SyncOperationDTO operation) {
+        TransactionDTO dto = operation.getTransaction();
+        if (dto == null) {
+            throw new BadRequestException("Data transaksi wajib diisi");
+        }
+        if (dto.getUserId() != null && !dto.getUserId().equals(batch.userId)) {
+            throw new AccessDeniedException("Anda hanya bisa mengubah transaksi milik sendiri");
+        }
+        String type = operation.getType() == null ? "" : operation.getType();
+        switch (type) {
+            case CREATE:
+                return applyCreate(batch, operation, dto);
+            case UPDATE:
+                return applyUpdate(batch, operation, dto);
+            case DELETE:
+                return applyDelete(batch, operation, dto);
+            default:
+                throw new BadRequestException("Tipe operasi harus CREATE, UPDATE, atau DELETE");
+        }
+    }
+
+    private SyncResultDTO applyCreate(SyncBatch batch, SyncOperationDTO operation, TransactionDTO dto) {
+        if (dto.getTransactionAmount() == null || dto.getTransactionAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new BadRequestException("Amount harus lebih besar dari 0");
+        }
+        if (dto.getTransactionDate() == null) {
+            throw new BadRequestException("Tanggal transaksi wajib diisi");
+        }
+        if (dto.getCategoryId() == null) {
+            throw new BadRequestException("Kategori wajib dipilih");
+        }
+        CategoryDTO category = batch.findCategory(dto.getCategoryId());
+
+        Transaction transaction = new Transaction();
+        transaction.setTransactionAmount(dto.getTransactionAmount());
+        transaction.setTransactionDescription(dto.getTransactionDescription());
+        transaction.setTransactionDate(dto.getTransactionDate());
+        transaction.setCategory(categoryRepository.getReferenceById(category.getCategoryId()));
+        transaction.setUser(batch.user());
+        transaction.setIsDeleted(false);
+        // ID dialokasikan dari sequence saat persist; INSERT dikirim bersama batch saat flush
+        Transaction saved = transactionRepository.save(transaction);
+        batch.addDelta(category.getCategoryId(), category.getIsExpense(), saved.getTransactionDate(),
+                saved.getTransactionAmount(), 1);
+        batch.applied++;
+        return applied(operation, HttpStatus.CREATED, saved.getTransactionId());
+    }
+
+    private SyncResultDTO applyUpdate(SyncBatch batch, SyncOperationDTO operation, TransactionDTO dto) {
+        Transaction transaction = batch.findTarget(dto.getTransactionId());
+        if (Boolean.TRUE.equals(transaction.getIsDeleted())) {
+            throw new ResourceNotFoundException("Transaksi tidak ditemukan");
+        }
+        if (dto.getTransactionAmount() != null && dto.getTransactionAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new BadRequestException("Amount harus lebih besar dari 0");
+        }
+
+        Long oldCategoryId = transaction.getCategory().getCategoryId();
+        Boolean oldIsExpense = batch.isExpense(transaction);
+        CategoryDTO newCategory = null;
+        if (dto.getCategoryId() != null && !dto.getCategoryId().equals(oldCategoryId)) {
+            newCategory = batch.findCategory(dto.getCategoryId());
+        }
+
+        // Koreksi rollup: keluarkan nilai lama, masukkan nilai baru
+        batch.addDelta(oldCategoryId, oldIsExpense, transaction.getTransactionDate(),
+                transaction.getTransactionAmount(), -1);
+        if (dto.getTransactionAmount() != null) {
+            transaction.setTransactionAmount(dto.getTransactionAmount());
+        }
+        if (dto.getTransactionDescription() != null) {
+            transaction.setTransactionDescription(dto.getTransactionDescription());
+        }
+        if (dto.getTransactionDate() != null) {
+            transaction.setTransactionDate(dto.getTransactionDate());
+        }
+        Long newCategoryId = oldCategoryId;
+        Boolean newIsExpense = oldIsExpense;
+        if (newCategory != null) {
+            transaction.setCategory(categoryRepository.getReferenceById(newCategory.getCategoryId()));
+            newCategoryId = newCategory.getCategoryId();
+            newIsExpense = newCategory.getIsExpense();
+        }
+        batch.addDelta(newCategoryId, newIsExpense, transaction.getTransactionDate(),
+                transaction.getTransactionAmount(), 1);
+        batch.applied++;
+        return applied(operation, HttpStatus.OK, transaction.getTransactionId());
+    }
+
+    private SyncResultDTO applyDelete(SyncBatch batch, SyncOperationDTO operation, TransactionDTO dto) {
+        Transaction transaction = batch.findTarget(dto.getTransactionId());
+        // Sudah terhapus (misalnya dari device lain): hasil akhirnya sama, jadi dianggap berhasil
+        if (!Boolean.TRUE.equals(transaction.getIsDeleted())) {
+            batch.addDelta(transaction.getCategory().getCategoryId(), batch.isExpense(transaction),
+                    transaction.getTransactionDate(), transaction.getTransactionAmount(), -1);
+            transaction.setIsDeleted(true);
+            batch.applied++;
+        }
+        return applied(operation, HttpStatus.OK, transaction.getTransactionId());
+    }
+
+    // Hanya hasil yang pasti sama jika dikirim ulang yang disimpan: operasi yang berhasil dan penolakan karena
+    // isi operasi (400). Penolakan 403/404 bergantung pada state server (kategori/transaksi yang dibuat atau
+    // dipulihkan belakangan, index kategori basi), jadi kiriman ulang menjalankannya lagi.
+    private static boolean isFinal(SyncResultDTO result) {
+        return APPLIED.equals(result.getStatus()) || result.getHttpStatus() == HttpStatus.BAD_REQUEST.value();
+    }
+
+    private static SyncResultDTO applied(SyncOperationDTO operation, HttpStatus status, Long transactionId) {
+        return new SyncResultDTO(operation.getOpId(), operation.getType(), APPLIED, status.value(),
+                transactionId, null, false);
+    }
+
+    private static SyncResultDTO toResult(SyncOperation record, boolean replayed) {
+        return new SyncResultDTO(record.getClientOpId(), record.getOpType(), record.getStatus(),
+                record.getHttpStatus(), record.getTransactionId(), record.getMessage(), replayed);
+    }
+
+    private static TransactionDTO toDTO(Long userId, TransactionChange row) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setTransactionId(row.getTransactionId());
+        dto.setTransactionAmount(row.getTransactionAmount());
+        dto.setTransactionDescription(row.getTransactionDescription());
+        dto.setTransactionDate(row.getTransactionDate());
+        dto.setCategoryId(row.getCategoryId());
+        dto.setUserId(userId);
+        dto.setIsDeleted(row.getIsDeleted());
+        dto.setTransactionType(Boolean.TRUE.equals(row.getIsExpense()) ? "EXPENSE" : "INCOME");
+        return dto;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    // Cursor opaque: base64url dari "updatedAt|id" baris terakhir yang sudah dikirim ke client
+    private static String encodeCursor(LocalDateTime updatedAt, Long transactionId) {
+        String raw = updatedAt + "|" + transactionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ChangePosition decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new ChangePosition(CURSOR_START, 0L);
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] position = raw.split("\\|");
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Format cursor salah");
+            }
+            return new ChangePosition(LocalDateTime.parse(position[0]), Long.valueOf(position[1]));
+        } catch (Exception e) {
+            throw new BadRequestException("Cursor tidak valid");
+        }
+    }
+
+    // Hapus hasil operasi yang sudah melewati masa simpan (client yang offline lebih lama dari itu
+    // dan mengirim ulang operasi lama akan menjalankannya lagi)
+    @Scheduled(fixedDelayString = "${app.sync.purge-interval-ms:3600000}",
+               initialDelayString = "${app.sync.purge-interval-ms:3600000}")
+    public void purgeExpiredOperations() {
+        LocalDateTime cutoff = Transaction.currentTimestamp(clock).minusDays(retentionDays);
+        long total = 0;
+        try {
+            int deleted;
+            do {
+                deleted = syncOperationRepository.deleteCreatedBeforeBatch(cutoff, purgeBatchSize);
+                total += deleted;
+            } while (deleted == purgeBatchSize);
+        } catch (Exception e) {
+            log.warn("Error purging sync operations: {}", e.getMessage());
+        }
+        if (total > 0) {
+            log.info("Sync operation purge: {} rows older than {}", total, cutoff);
+        }
+    }
+
+    private record ChangePosition(LocalDateTime updatedAt, Long transactionId) {}
+
+    // State satu batch sync: index kategori, transaksi target yang sudah dimuat, dan delta rollup
+    private final class SyncBatch {
+
+        private final Long userId;
+        private final CategoryCache.Snapshot categories;
+        private final Map<Long, Transaction> targets;
+        // Delta per (kategori, bulan): {jumlah, count}; diterapkan sekali per grup di akhir batch
+        private final Map<Long, Map<YearMonth, BigDecimal[]>> deltas = new HashMap<>();
+        private final Map<Long, Boolean> expenseByCategory = new HashMap<>();
+        private User user;
+        private int applied;
+
+        private SyncBatch(Long userId, CategoryCache.Snapshot categories, Map<Long, Transaction> targets) {
+            this.userId = userId;
+            this.categories = categories;
+            this.targets = targets;
+        }
+
+        private User user() {
+            if (user == null) {
+                user = userRepository.getReferenceById(userId);
+            }
+            return user;
+        }
+
+        // Kategori aktif milik user dari index kategori (tanpa query); jika tidak ada di index yang mungkin
+        // basi, kepemilikannya dicek ke database seperti pada create/update biasa
+        private CategoryDTO findCategory(Long categoryId) {
+            CategoryDTO category = categories.find(categoryId);
+            return category != null ? category : categoryService.findOwnedCategory(userId, categoryId);
+        }
+
+        private Transaction findTarget(Long transactionId) {
+            if (transactionId == null) {
+                throw new BadRequestException("transactionId wajib diisi");
+            }
+            Transaction transaction = targets.get(transactionId);
+            if (transaction == null) {
+                throw new ResourceNotFoundException("Transaksi tidak ditemukan");
+            }
+            if (transaction.getUser() == null || !userId.equals(transaction.getUser().getUserId())) {
+                throw new AccessDeniedException("Tidak memiliki akses ke transaksi ini");
+            }
+            return transaction;
+        }
+
+        // Tipe income/expense dari index kategori, proxy hanya dimuat jika tidak ada di index
+        private Boolean isExpense(Transaction transaction) {
+            CategoryDTO indexed = categories.find(transaction.getCategory().getCategoryId());
+            return indexed != null ? indexed.getIsExpense() : transaction.getCategory().getIsExpense();
+        }
+
+        private void addDelta(Long categoryId, Boolean isExpense, LocalDate date, BigDecimal amount, int sign) {
+            expenseByCategory.put(categoryId, isExpense);
+            BigDecimal[] total = deltas.computeIfAbsent(categoryId, id -> new HashMap<>())
+                    .computeIfAbsent(YearMonth.from(date), month -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+            total[0] = sign < 0 ? total[0].subtract(amount) : total[0].add(amount);
+            total[1] = total[1].add(BigDecimal.valueOf(sign));
+        }
+
+        // Grup yang saling meniadakan (misalnya update deskripsi saja) dilewati
+        private void applyRollups() {
+            deltas.forEach((categoryId, months) -> months.forEach((month, total) -> {
+                if (total[0].signum() != 0 || total[1].signum() != 0) {
+                    rollupService.recordTransactions(userId, categoryId, expenseByCategory.get(categoryId),
+                            month, total[0], total[1].longValue());
+                }
+            }));
+        }
+    }
+}
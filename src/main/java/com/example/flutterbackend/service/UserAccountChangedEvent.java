@@ -0,0 +1,22 @@
+package com.example.flutterbackend.service;
+
+// Event yang dipublikasikan UserService setiap kali data akun berubah (profil, password, hapus akun,
+// token version naik). PrincipalCache meng-invalidate entry user setelah perubahan ter-commit,
+// agar request yang masuk sebelum commit tidak meng-cache ulang data lama.
+public class UserAccountChangedEvent {
+
+    private final Long userId;
+
+    public UserAccountChangedEvent(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public String toString() {
+        return "UserAccountChangedEvent{userId=" + userId + '}';
+    }
+}
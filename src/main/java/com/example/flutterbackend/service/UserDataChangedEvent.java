@@ -0,0 +1,22 @@
+package com.example.flutterbackend.service;
+
+// Event yang dipublikasikan setiap kali data transaksi/kategori milik user berubah.
+// Listener (misalnya cache dashboard) memakai @TransactionalEventListener
+// sehingga invalidasi baru terjadi setelah perubahan ter-commit.
+public class UserDataChangedEvent {
+
+    private final Long userId;
+
+    public UserDataChangedEvent(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public String toString() {
+        return "UserDataChangedEvent{userId=" + userId + '}';
+    }
+}
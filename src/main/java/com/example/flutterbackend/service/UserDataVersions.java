@@ -0,0 +1,29 @@
+package com.example.flutterbackend.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Nomor versi data per user, naik setiap UserDataChangedEvent ter-commit.
+// Dipakai untuk mengetahui apakah hasil laporan yang sudah dibuat masih sesuai dengan data terbaru.
+// Disimpan di memori: setelah restart semua versi kembali 0, bersamaan dengan registry job laporan yang juga kosong.
+@Component
+public class UserDataVersions {
+
+    private final ConcurrentMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long current(Long userId) {
+        AtomicLong version = versions.get(userId);
+        return version != null ? version.get() : 0L;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        if (event.getUserId() != null) {
+            versions.computeIfAbsent(event.getUserId(), id -> new AtomicLong()).incrementAndGet();
+        }
+    }
+}
@@ -8,9 +8,11 @@ import com.example.flutterbackend.model.User;
 import com.example.flutterbackend.repository.UserRepository;
 import com.example.flutterbackend.security.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -29,6 +31,10 @@ public class UserService {
     @Autowired
     private FileStorageService fileStorageService;
 
+    // Perubahan akun dipublikasikan sebagai UserAccountChangedEvent; PrincipalCache meng-invalidate setelah commit
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Method internal untuk mengubah User Entity menjadi UserDTO.
      * DTO adalah objek yang dikirim ke frontend.
@@ -79,7 +85,7 @@ public class UserService {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Email atau password salah");
         }
 
-        String token = jwtUtil.generateToken(user.getUserId(), user.getUserEmail());
+        String token = jwtUtil.generateToken(user.getUserId(), user.getUserEmail(), user.getTokenVersion());
         return new LoginResponse(convertToDTO(user), token);
     }
 
@@ -105,6 +111,7 @@ public class UserService {
             user.setUserName(request.getUserName());
         }
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(userId));
         return convertToDTO(updatedUser);
     }
     
@@ -172,6 +179,7 @@ public class UserService {
         }
         user.setUserPassword(passwordEncoder.encode(newPassword));
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(userId));
         return convertToDTO(updatedUser);
     }
 
@@ -183,10 +191,25 @@ public class UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User tidak ditemukan"));
         user.setIsDeleted(true);
+        // Cabut semua token user, bukan hanya token yang dipakai untuk request ini
+        user.setTokenVersion(user.getTokenVersion() + 1);
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(userId));
         return convertToDTO(savedUser);
     }
 
+    /**
+     * Logout dari semua sesi: menaikkan versi token sehingga semua token yang sudah terbit
+     * ditolak JwtFilter. Tidak menambah baris di token_blacklist.
+     */
+    @Transactional
+    public void logoutAllSessions(Long userId) {
+        if (userRepository.incrementTokenVersion(userId) == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User tidak ditemukan");
+        }
+        eventPublisher.publishEvent(new UserAccountChangedEvent(userId));
+    }
+
     /**
      * Inner class untuk struktur response login.
      */
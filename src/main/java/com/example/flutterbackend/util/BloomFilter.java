@@ -0,0 +1,68 @@
+package com.example.flutterbackend.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filter thread-safe di atas AtomicLongArray untuk key yang sudah berupa hash 128-bit
+// (dua long, misalnya potongan SHA-256). Posisi bit dihitung dengan double hashing (h1 + i * h2),
+// jadi put/mightContain tidak mengalokasikan objek.
+// Tidak mendukung penghapusan; buat ulang filter jika banyak key sudah tidak berlaku.
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final int expectedInsertions;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.expectedInsertions = n;
+    }
+
+    public void put(long hash1, long hash2) {
+        long step = hash2 | 1L; // langkah ganjil agar posisi tidak berulang
+        long combined = hash1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitCount;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+            combined += step;
+        }
+    }
+
+    public boolean mightContain(long hash1, long hash2) {
+        long step = hash2 | 1L;
+        long combined = hash1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitCount;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+            combined += step;
+        }
+        return true;
+    }
+
+    public int getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+}
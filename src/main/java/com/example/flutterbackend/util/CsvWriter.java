@@ -0,0 +1,64 @@
+package com.example.flutterbackend.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Penulis CSV sederhana sesuai RFC 4180.
+ * Field yang mengandung koma, tanda kutip, CR, atau LF dibungkus tanda kutip
+ * (tanda kutip di dalamnya digandakan), dan setiap baris diakhiri CRLF.
+ * Tidak melakukan buffering sendiri; bungkus writer tujuan dengan BufferedWriter.
+ */
+public class CsvWriter {
+
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    private final Writer out;
+
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    public void writeRow(String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(fields[i]);
+        }
+        out.write(LINE_SEPARATOR);
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (!needsQuoting(value)) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
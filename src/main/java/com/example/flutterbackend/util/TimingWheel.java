@@ -0,0 +1,126 @@
+package com.example.flutterbackend.util;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+// Hierarchical timing wheel untuk item yang kedaluwarsa pada waktu absolut (epoch millis).
+// Level 0 punya slot selebar tickMs, setiap level berikutnya slotnya wheelSize kali lebih lebar.
+// Item ditaruh di level terendah yang cukup menampung jarak waktunya; saat jam mencapai awal slot
+// di level atas, isinya diturunkan ke level bawah, dan slot level 0 yang sudah lewat dikeluarkan
+// sebagai item kedaluwarsa. Item di luar jangkauan level teratas diparkir di slot terakhir dan
+// ditempatkan ulang saat slot itu diproses.
+// Penambahan dan pemajuan jam O(1) per item (amortized). Tidak thread-safe; sinkronisasi di pemanggil.
+public class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long[] levelTickMs;
+    private final ArrayDeque<Entry<T>>[][] slots;
+    private long currentTimeMs;
+    private int size;
+
+    public TimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.levelTickMs = new long[levels];
+        // Array generic tidak bisa dibuat langsung; cast aman karena setiap slot diisi ArrayDeque<Entry<T>> di bawah
+        @SuppressWarnings("unchecked")
+        ArrayDeque<Entry<T>>[][] table = (ArrayDeque<Entry<T>>[][]) new ArrayDeque<?>[levels][wheelSize];
+        this.slots = table;
+        long levelTick = tickMs;
+        for (int level = 0; level < levels; level++) {
+            levelTickMs[level] = levelTick;
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots[level][slot] = new ArrayDeque<>();
+            }
+            levelTick *= wheelSize;
+        }
+        this.currentTimeMs = startMs - Math.floorMod(startMs, tickMs);
+    }
+
+    // Jadwalkan item; false (item tidak disimpan) jika sudah kedaluwarsa terhadap jam wheel saat ini
+    public boolean add(T item, long expirationMs) {
+        if (!place(new Entry<>(item, expirationMs))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    // Majukan jam sampai nowMs dan panggil onExpired untuk setiap item yang waktunya sudah lewat
+    public void advanceClock(long nowMs, Consumer<T> onExpired) {
+        while (currentTimeMs + tickMs <= nowMs) {
+            // Slot level 0 untuk rentang [currentTime, currentTime + tick) sudah lewat seluruhnya
+            ArrayDeque<Entry<T>> due = slots[0][slotIndex(0, currentTimeMs)];
+            Entry<T> entry;
+            while ((entry = due.poll()) != null) {
+                size--;
+                onExpired.accept(entry.item);
+            }
+            currentTimeMs += tickMs;
+
+            // Turunkan isi slot level atas yang rentangnya dimulai sekarang (dari level tertinggi)
+            for (int level = levelTickMs.length - 1; level >= 1; level--) {
+                if (currentTimeMs % levelTickMs[level] != 0) {
+                    continue;
+                }
+                ArrayDeque<Entry<T>> cascading = slots[level][slotIndex(level, currentTimeMs)];
+                int count = cascading.size();
+                for (int i = 0; i < count; i++) {
+                    entry = cascading.poll();
+                    if (!place(entry)) {
+                        size--;
+                        onExpired.accept(entry.item);
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getCurrentTimeMs() {
+        return currentTimeMs;
+    }
+
+    private boolean place(Entry<T> entry) {
+        long expiration = entry.expirationMs;
+        if (expiration < currentTimeMs) {
+            return false;
+        }
+        // Level 0: slot saat ini masih valid karena baru dikeluarkan setelah rentangnya lewat
+        if (expiration / tickMs - currentTimeMs / tickMs < wheelSize) {
+            slots[0][slotIndex(0, expiration)].add(entry);
+            return true;
+        }
+        // Level atas: slot saat ini sudah diproses di awal rentangnya, jadi harus slot berikutnya atau setelahnya
+        int top = levelTickMs.length - 1;
+        for (int level = 1; level <= top; level++) {
+            long distance = expiration / levelTickMs[level] - currentTimeMs / levelTickMs[level];
+            if (distance >= 1 && distance < wheelSize) {
+                slots[level][slotIndex(level, expiration)].add(entry);
+                return true;
+            }
+        }
+        // Di luar jangkauan: parkir di slot terjauh level teratas, ditempatkan ulang nanti
+        long parkedAt = currentTimeMs + (wheelSize - 1) * levelTickMs[top];
+        slots[top][slotIndex(top, parkedAt)].add(entry);
+        return true;
+    }
+
+    private int slotIndex(int level, long timeMs) {
+        return (int) Math.floorMod(timeMs / levelTickMs[level], (long) wheelSize);
+    }
+
+    private static final class Entry<T> {
+        private final T item;
+        private final long expirationMs;
+
+        private Entry(T item, long expirationMs) {
+            this.item = item;
+            this.expirationMs = expirationMs;
+        }
+    }
+}
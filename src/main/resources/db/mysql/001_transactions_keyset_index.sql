@@ -0,0 +1,12 @@
+-- ===================================================================
+-- 001: Index untuk keyset pagination transaksi
+-- ===================================================================
+-- Skema produksi dikelola manual (spring.jpa.hibernate.ddl-auto=validate),
+-- jadi jalankan script ini sekali pada database MySQL sebelum deploy.
+--
+-- Query GET /api/transactions/user/{userId}?limit=..&cursor=.. memfilter
+-- user_id + is_deleted lalu mengurutkan (transaction_date, transaction_id)
+-- menurun, sehingga index ini membuat setiap halaman menjadi range scan.
+
+CREATE INDEX idx_transactions_user_date_id
+    ON transactions (user_id, is_deleted, transaction_date, transaction_id);
@@ -0,0 +1,18 @@
+-- ===================================================================
+-- 002: Tabel rollup bulanan per user & kategori
+-- ===================================================================
+-- Diisi otomatis oleh RollupService saat aplikasi start jika tabel masih kosong
+-- (atau setiap start jika app.rollup.rebuild-on-startup=true).
+
+CREATE TABLE user_monthly_rollup (
+    rollup_id    BIGINT         NOT NULL AUTO_INCREMENT,
+    user_id      BIGINT         NOT NULL,
+    rollup_month INT            NOT NULL,
+    category_id  BIGINT         NOT NULL,
+    income       DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    expense      DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    tx_count     BIGINT         NOT NULL DEFAULT 0,
+    PRIMARY KEY (rollup_id),
+    CONSTRAINT uk_rollup_user_month_category UNIQUE (user_id, rollup_month, category_id),
+    INDEX idx_rollup_category (category_id)
+);
@@ -0,0 +1,26 @@
+-- ===================================================================
+-- 003: token_blacklist menyimpan SHA-256 token, bukan token mentah
+-- ===================================================================
+-- Kolom token VARCHAR(1000) diganti token_hash BINARY(32) dengan unique index,
+-- ditambah jti (claim JWT id) dan index expiry_date untuk pembersihan.
+-- Jalankan sekali sebelum deploy versi yang memakai kolom token_hash.
+
+ALTER TABLE token_blacklist
+    ADD COLUMN token_hash BINARY(32) NULL AFTER id,
+    ADD COLUMN jti VARCHAR(36) NULL AFTER token_hash;
+
+-- Token JWT hanya berisi karakter ASCII, jadi SHA2 di MySQL sama dengan TokenDigest.sha256()
+UPDATE token_blacklist SET token_hash = UNHEX(SHA2(token, 256)) WHERE token_hash IS NULL;
+
+-- Token yang sama bisa ter-blacklist lebih dari sekali (logout berulang); sisakan satu baris
+DELETE t1 FROM token_blacklist t1
+    JOIN token_blacklist t2 ON t1.token_hash = t2.token_hash AND t1.id > t2.id;
+
+-- Baris yang sudah kedaluwarsa tidak perlu dibawa
+DELETE FROM token_blacklist WHERE expiry_date < NOW();
+
+ALTER TABLE token_blacklist
+    MODIFY COLUMN token_hash BINARY(32) NOT NULL,
+    ADD CONSTRAINT uk_token_blacklist_hash UNIQUE (token_hash),
+    ADD INDEX idx_token_blacklist_expiry (expiry_date),
+    DROP COLUMN token;
@@ -0,0 +1,9 @@
+-- ===================================================================
+-- 004: Versi token per user
+-- ===================================================================
+-- Token JWT membawa claim "tv" yang harus sama dengan users.token_version.
+-- Menaikkan kolom ini (logout semua sesi, hapus akun) mencabut semua token user
+-- tanpa menulis baris ke token_blacklist.
+
+ALTER TABLE users
+    ADD COLUMN token_version BIGINT NOT NULL DEFAULT 0;
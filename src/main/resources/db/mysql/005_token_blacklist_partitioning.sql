@@ -0,0 +1,24 @@
+-- ===================================================================
+-- 005 (opsional): Partisi token_blacklist per hari kedaluwarsa
+-- ===================================================================
+-- Dengan partisi harian, token yang sudah kedaluwarsa dibuang dengan DROP PARTITION
+-- (instan, tanpa lock baris) alih-alih DELETE. Setelah script ini dijalankan, set
+-- app.token-blacklist.partitioned=true; TokenBlacklistPurgeService akan memecah pmax
+-- menjadi partisi harian (pYYYYMMDD) dan men-drop partisi yang sudah lewat.
+--
+-- MySQL mewajibkan kolom partisi ada di setiap unique key, jadi expiry_date ditambahkan
+-- ke primary key dan ke uk_token_blacklist_hash. Keunikan token tetap terjaga karena
+-- expiry_date berasal dari claim exp yang ikut ditandatangani di token itu sendiri.
+
+ALTER TABLE token_blacklist
+    MODIFY COLUMN expiry_date DATETIME(6) NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, expiry_date),
+    DROP INDEX uk_token_blacklist_hash,
+    ADD CONSTRAINT uk_token_blacklist_hash UNIQUE (token_hash, expiry_date);
+
+-- Semua baris awalnya di pmax; partisi harian dibuat oleh job purge
+ALTER TABLE token_blacklist
+    PARTITION BY RANGE (TO_DAYS(expiry_date)) (
+        PARTITION pmax VALUES LESS THAN MAXVALUE
+    );
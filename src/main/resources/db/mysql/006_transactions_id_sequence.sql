@@ -0,0 +1,20 @@
+-- ===================================================================
+-- 006: ID transaksi dari sequence (pooled, allocationSize 50)
+-- ===================================================================
+-- Transaction.transactionId tidak lagi memakai IDENTITY agar Hibernate bisa mem-batch insert
+-- (POST /api/transactions/bulk). MySQL tidak punya sequence, jadi Hibernate memakai tabel
+-- satu baris transaction_seq: setiap alokasi menaikkan next_val sebesar 50 dan memakai ID
+-- (next_val - 49) .. next_val. Nilai awal diset agar blok pertama dimulai setelah ID terbesar.
+-- Jalankan saat aplikasi berhenti.
+
+CREATE TABLE transaction_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO transaction_seq (next_val)
+SELECT COALESCE(MAX(transaction_id), 0) + 50 FROM transactions;
+
+-- ID selalu diberikan aplikasi; tanpa AUTO_INCREMENT, INSERT yang tidak lewat sequence
+-- gagal alih-alih bentrok dengan blok ID yang sedang dipakai instance lain.
+ALTER TABLE transactions
+    MODIFY transaction_id BIGINT NOT NULL;
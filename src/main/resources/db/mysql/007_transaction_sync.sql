@@ -0,0 +1,36 @@
+-- ===================================================================
+-- 007: Sync batch transaksi untuk client offline-first (POST /api/transactions/sync)
+-- ===================================================================
+-- transactions.updated_at: waktu perubahan terakhir (UTC, mikrodetik), diisi aplikasi pada setiap
+-- insert/update termasuk soft delete dan cascade hapus/restore kategori. Feed perubahan sync membaca
+-- (user_id, updated_at, transaction_id) lewat idx_transactions_user_updated.
+-- Baris lama mendapat waktu migrasi, jadi sync pertama setiap device mengirim semua transaksinya.
+-- Jalankan saat aplikasi berhenti.
+
+ALTER TABLE transactions
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT (UTC_TIMESTAMP(6)),
+    ADD INDEX idx_transactions_user_updated (user_id, updated_at, transaction_id);
+
+-- Hasil operasi sync per (user, opId dari client); dibersihkan setelah
+-- app.sync.operation-retention-days oleh job terjadwal.
+CREATE TABLE sync_operations (
+    sync_operation_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    client_op_id VARCHAR(64) NOT NULL,
+    op_type VARCHAR(10) NOT NULL,
+    status VARCHAR(10) NOT NULL,
+    http_status INT NOT NULL,
+    transaction_id BIGINT NULL,
+    message VARCHAR(255) NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (sync_operation_id),
+    UNIQUE KEY uk_sync_operations_user_op (user_id, client_op_id),
+    KEY idx_sync_operations_created (created_at)
+) ENGINE = InnoDB;
+
+-- Sequence pooled (allocationSize 50) seperti transaction_seq
+CREATE TABLE sync_operation_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO sync_operation_seq (next_val) VALUES (1);
@@ -0,0 +1,91 @@
+package com.example.flutterbackend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files (e.g. from two commits) benchmark by benchmark.
+ *
+ * <pre>
+ * mvn -Pperf -DskipTests verify -Djmh.result=perf-results/base.json
+ * git checkout feature
+ * mvn -Pperf -DskipTests verify -Djmh.result=perf-results/feature.json
+ * mvn -Pperf -DskipTests test-compile exec:exec@jmh-compare \
+ *     -Djmh.baseline=perf-results/base.json -Djmh.result=perf-results/feature.json
+ * </pre>
+ *
+ * A change is flagged when the scores differ by more than the sum of both 99.9% error margins
+ * (runs with a single measurement iteration have no margin and are never flagged).
+ * Lower is better for time modes (avgt, sample, ss), higher is better for thrpt. Exits with
+ * status 1 when any benchmark regressed, so it can gate a CI job.
+ */
+public class JmhResultComparison {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: JmhResultComparison <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = load(Paths.get(args[0]));
+        Map<String, JsonNode> candidate = load(Paths.get(args[1]));
+
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%-80s %14s %14s %9s%n", "benchmark", "baseline", "candidate", "change");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            JsonNode metric = after.get("primaryMetric");
+            if (before == null) {
+                System.out.printf(Locale.ROOT, "%-80s %14s %14.3f %9s%n", entry.getKey(), "-", metric.get("score").asDouble(), "new");
+                continue;
+            }
+            double oldScore = before.get("primaryMetric").get("score").asDouble();
+            double newScore = metric.get("score").asDouble();
+            double margin = error(before) + error(after);
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore * 100;
+            boolean higherIsBetter = "thrpt".equals(after.get("mode").asText());
+            String verdict = "";
+            if (Double.isNaN(margin)) {
+                verdict = "  (no error margin)";
+            } else if (Math.abs(newScore - oldScore) > margin) {
+                boolean worse = higherIsBetter ? newScore < oldScore : newScore > oldScore;
+                verdict = worse ? "  REGRESSION" : "  improved";
+                if (worse) {
+                    regressions++;
+                }
+            }
+            System.out.printf(Locale.ROOT, "%-80s %14.3f %14.3f %+8.1f%%%s  %s%n",
+                    entry.getKey(), oldScore, newScore, change, verdict, metric.get("scoreUnit").asText());
+        }
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    // NaN when the run had a single measurement iteration
+    private static double error(JsonNode result) {
+        return result.get("primaryMetric").path("scoreError").asDouble(Double.NaN);
+    }
+
+    // Keyed by benchmark name and parameters, e.g. ...ReportRenderBenchmark.pdf{rows=10000}
+    private static Map<String, JsonNode> load(Path file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(result.get("benchmark").asText());
+            JsonNode params = result.get("params");
+            if (params != null && params.size() > 0) {
+                key.append('{');
+                params.fields().forEachRemaining(param -> key.append(key.charAt(key.length() - 1) == '{' ? "" : ",")
+                        .append(param.getKey()).append('=').append(param.getValue().asText()));
+                key.append('}');
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
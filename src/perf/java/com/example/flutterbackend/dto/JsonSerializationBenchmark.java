@@ -0,0 +1,89 @@
+package com.example.flutterbackend.dto;
+
+import com.example.flutterbackend.config.JacksonConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response bodies of GET /api/dashboard/user/{id} (DashboardDTO
+ * with ten recent transactions) and GET /api/transactions/user/{id} (List of TransactionDTO),
+ * using the application's ObjectMapper from {@link JacksonConfig}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private DashboardDTO dashboard;
+
+    @State(Scope.Benchmark)
+    public static class TransactionList {
+        @Param({"20", "100", "1000"})
+        public int listSize;
+
+        private List<TransactionDTO> transactions;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            transactions = transactions(listSize, new Random(42));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        dashboard = new DashboardDTO(new TransactionSummaryDTO(new BigDecimal("12500000.00"), new BigDecimal("9876543.21")),
+                transactions(10, new Random(42)), 1234L);
+    }
+
+    @Benchmark
+    public byte[] dashboard() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dashboard);
+    }
+
+    @Benchmark
+    public byte[] transactionList(TransactionList list) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(list.transactions);
+    }
+
+    private static List<TransactionDTO> transactions(int count, Random random) {
+        List<TransactionDTO> list = new ArrayList<>(count);
+        LocalDate date = LocalDate.of(2024, 12, 31);
+        for (int i = 0; i < count; i++) {
+            TransactionDTO dto = new TransactionDTO();
+            dto.setTransactionId((long) count - i);
+            dto.setTransactionAmount(BigDecimal.valueOf(1_000 + random.nextInt(5_000_000), 0));
+            dto.setTransactionDescription("Transaksi " + i);
+            dto.setTransactionDate(date.minusDays(i / 3));
+            dto.setCategoryId((long) random.nextInt(8) + 1);
+            dto.setUserId(1L);
+            dto.setIsDeleted(false);
+            dto.setTransactionType(random.nextInt(4) == 0 ? "INCOME" : "EXPENSE");
+            list.add(dto);
+        }
+        return list;
+    }
+}
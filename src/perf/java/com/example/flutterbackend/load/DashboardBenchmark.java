@@ -0,0 +1,102 @@
+package com.example.flutterbackend.load;
+
+import com.example.flutterbackend.FlutterbackendApplication;
+import com.example.flutterbackend.dto.DashboardDTO;
+import com.example.flutterbackend.service.DashboardCache;
+import com.example.flutterbackend.service.DashboardService;
+import com.example.flutterbackend.service.RollupService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uncached dashboard (DashboardService.getDashboardData with the user's DashboardCache entry
+ * evicted before every call) for one user with 100, 10k and 1M transactions, against the full
+ * application context on an in-memory H2 database filled by {@link SyntheticDataGenerator}.
+ *
+ * <pre>
+ * mvn -Pperf -DskipTests verify -Djmh.include=DashboardBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class DashboardBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int transactions;
+
+    private ConfigurableApplicationContext context;
+    private DashboardService dashboardService;
+    private DashboardCache dashboardCache;
+    private long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        // Argumen command line: menimpa placeholder environment di application.properties
+        context = new SpringApplicationBuilder(FlutterbackendApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:dashboard-benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--server.port=0",
+                "--JWT_SECRET=dashboard-benchmark-secret-0123456789abcdef0123456789",
+                "--logging.level.root=WARN");
+        dashboardService = context.getBean(DashboardService.class);
+        dashboardCache = context.getBean(DashboardCache.class);
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(42L, 1_000, LocalDate.now(), 24);
+        try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+            connection.setAutoCommit(false);
+            generator.generate(connection, 1, transactions, "not-a-password-hash");
+            connection.commit();
+            try (PreparedStatement query = connection.prepareStatement(
+                    "SELECT user_id FROM users WHERE user_email = 'load-1@example.com'");
+                 ResultSet result = query.executeQuery()) {
+                result.next();
+                userId = result.getLong(1);
+            }
+        }
+        context.getBean(RollupService.class).rebuildAll();
+
+        long counted = uncachedDashboard().getTotalTransactions();
+        if (counted != transactions) {
+            throw new IllegalStateException("Dashboard counts " + counted + " transactions, expected " + transactions);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public DashboardDTO uncachedDashboard() {
+        dashboardCache.evict(userId);
+        return dashboardService.getDashboardData(userId);
+    }
+}
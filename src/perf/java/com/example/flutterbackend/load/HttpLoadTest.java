@@ -0,0 +1,149 @@
+package com.example.flutterbackend.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load driver against a running instance.
+ *
+ * Each of {@code load.concurrency} workers (virtual threads) issues GET requests back to back,
+ * round-robin over {@code load.paths}, for {@code load.durationSeconds} after a warm-up.
+ * Reports throughput, latency percentiles and status counts, and writes them to {@code load.out}.
+ *
+ * <pre>
+ * mvn -Pperf -DskipTests test-compile
+ * java -cp target/test-classes -Dload.baseUrl=http://localhost:8080 -Dload.concurrency=200 \
+ *      -Dload.paths=/api/dashboard/user/1,/api/transactions/user/1?limit=20 \
+ *      com.example.flutterbackend.load.HttpLoadTest
+ * </pre>
+ *
+ * The bearer token comes from {@code load.token}, or from logging in with {@code load.email} /
+ * {@code load.password}. {@code {userId}} in a path is replaced with the logged-in user's id.
+ */
+public class HttpLoadTest {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern USER_ID = Pattern.compile("\"userId\"\\s*:\\s*(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("load.baseUrl", "http://localhost:8080");
+        int concurrency = Integer.getInteger("load.concurrency", 100);
+        int warmupSeconds = Integer.getInteger("load.warmupSeconds", 5);
+        int durationSeconds = Integer.getInteger("load.durationSeconds", 20);
+        String label = System.getProperty("load.label", "run");
+        Path out = Paths.get(System.getProperty("load.out", "target/load-result.json"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        String token = System.getProperty("load.token", "");
+        String userId = System.getProperty("load.userId", "1");
+        if (token.isEmpty()) {
+            String body = "{\"userEmail\":\"" + System.getProperty("load.email", "user@example.com")
+                    + "\",\"userPassword\":\"" + System.getProperty("load.password", "password123") + "\"}";
+            HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            token = find(TOKEN, login.body());
+            userId = find(USER_ID, login.body());
+        }
+
+        List<URI> targets = new ArrayList<>();
+        for (String path : System.getProperty("load.paths", "/api/dashboard/user/{userId}").split(",")) {
+            targets.add(URI.create(baseUrl + path.trim().replace("{userId}", userId)));
+        }
+
+        System.out.printf(Locale.ROOT, "[%s] %d workers, %ds warm-up, %ds measured, paths=%s%n",
+                label, concurrency, warmupSeconds, durationSeconds, targets);
+        run(client, token, targets, concurrency, warmupSeconds);
+        LatencyStats result = run(client, token, targets, concurrency, durationSeconds);
+
+        String json = String.format(Locale.ROOT, "{\"label\":\"%s\",\"concurrency\":%d,\"durationSeconds\":%d,%s}",
+                label, concurrency, durationSeconds, result.toJsonFields(durationSeconds));
+        System.out.println(json);
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, json);
+    }
+
+    private static LatencyStats run(HttpClient client, String token, List<URI> targets, int concurrency, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Future<Worker>> futures = new ArrayList<>();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                Worker worker = new Worker(client, token, targets, i);
+                futures.add(workers.submit(() -> worker.runUntil(deadline)));
+            }
+        }
+        LatencyStats result = new LatencyStats();
+        for (Future<Worker> future : futures) {
+            result.addAll(future.get().stats);
+        }
+        return result;
+    }
+
+    private static String find(Pattern pattern, String body) {
+        Matcher matcher = pattern.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static final class Worker {
+        private final HttpClient client;
+        private final String token;
+        private final List<URI> targets;
+        private int next;
+        private final LatencyStats stats = new LatencyStats();
+
+        private Worker(HttpClient client, String token, List<URI> targets, int offset) {
+            this.client = client;
+            this.token = token;
+            this.targets = targets;
+            this.next = offset;
+        }
+
+        private Worker runUntil(long deadline) {
+            while (System.nanoTime() < deadline) {
+                URI uri = targets.get(next++ % targets.size());
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .timeout(Duration.ofSeconds(30))
+                        .header("Authorization", "Bearer " + token)
+                        .GET().build();
+                long start = System.nanoTime();
+                String status;
+                try {
+                    status = String.valueOf(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+                } catch (IOException e) {
+                    status = "io-error";
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                stats.record(System.nanoTime() - start, status);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.flutterbackend.load;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and status counts of one worker or endpoint. Not thread-safe: each worker records
+ * into its own instance and the results are merged with {@link #addAll} after the run.
+ */
+final class LatencyStats {
+
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private boolean sorted;
+    private final Map<String, Integer> statuses = new TreeMap<>();
+
+    void record(long nanos, String status) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = nanos;
+        sorted = false;
+        statuses.merge(status, 1, Integer::sum);
+    }
+
+    void addAll(LatencyStats other) {
+        if (count + other.count > latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, Math.max(count + other.count, count * 2));
+        }
+        System.arraycopy(other.latenciesNanos, 0, latenciesNanos, count, other.count);
+        count += other.count;
+        sorted = false;
+        other.statuses.forEach((status, n) -> statuses.merge(status, n, Integer::sum));
+    }
+
+    int count() {
+        return count;
+    }
+
+    // Responses outside 2xx/3xx, including connection failures
+    int errors() {
+        int errors = 0;
+        for (Map.Entry<String, Integer> entry : statuses.entrySet()) {
+            if (!entry.getKey().startsWith("2") && !entry.getKey().startsWith("3")) {
+                errors += entry.getValue();
+            }
+        }
+        return errors;
+    }
+
+    double percentileMs(double p) {
+        if (count == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(latenciesNanos, 0, count);
+            sorted = true;
+        }
+        int index = (int) Math.ceil(p / 100.0 * count) - 1;
+        return latenciesNanos[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+    }
+
+    // JSON fields (without braces) for a measurement window of the given length
+    String toJsonFields(int seconds) {
+        StringBuilder status = new StringBuilder();
+        statuses.forEach((code, n) -> status.append(status.length() == 0 ? "" : ",")
+                .append('"').append(code).append("\":").append(n));
+        return String.format(Locale.ROOT,
+                "\"requests\":%d,\"throughputPerSec\":%.1f,\"p50Ms\":%.2f,\"p90Ms\":%.2f,\"p99Ms\":%.2f," +
+                "\"maxMs\":%.2f,\"statuses\":{%s}",
+                count, count / (double) seconds, percentileMs(50), percentileMs(90), percentileMs(99),
+                percentileMs(100), status);
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.flutterbackend.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Scripted user sessions against a running instance, for data sets written by
+ * {@link SyntheticDataGenerator}.
+ *
+ * Each of {@code load.concurrency} workers (virtual threads) plays sessions back to back: log in as
+ * one of the generated users ({@code load.users}), load the user's categories, then issue
+ * {@code load.requestsPerSession} requests drawn from {@code load.mix} (dashboard, list, create,
+ * export). Throughput and p50/p90/p99 are reported per endpoint and written to {@code load.out}.
+ *
+ * <pre>
+ * java -cp target/test-classes -Dload.baseUrl=http://localhost:8080 -Dload.concurrency=50 \
+ *      -Dload.users=100 -Dload.mix=dashboard=40,list=35,create=15,export=10 \
+ *      com.example.flutterbackend.load.LoadScenario
+ * </pre>
+ *
+ * Each worker's choices come from {@code load.seed} plus its index, so two runs against the same
+ * data issue the same request sequence (timing still differs). Created transactions stay in the
+ * database; regenerate the data set between comparable runs.
+ */
+public class LoadScenario {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern USER_ID = Pattern.compile("\"userId\"\\s*:\\s*(\\d+)");
+    private static final Pattern CATEGORY_ID = Pattern.compile("\"categoryId\"\\s*:\\s*(\\d+)");
+
+    private static final String[] ENDPOINTS = {"login", "categories", "dashboard", "list", "create", "export"};
+    private static final List<String> SESSION_STEPS = List.of("dashboard", "list", "create", "export");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("load.baseUrl", "http://localhost:8080");
+        int concurrency = Integer.getInteger("load.concurrency", 50);
+        int warmupSeconds = Integer.getInteger("load.warmupSeconds", 10);
+        int durationSeconds = Integer.getInteger("load.durationSeconds", 60);
+        int users = Integer.getInteger("load.users", 100);
+        int requestsPerSession = Integer.getInteger("load.requestsPerSession", 20);
+        long seed = Long.getLong("load.seed", 42L);
+        String label = System.getProperty("load.label", "scenario");
+        Path out = Paths.get(System.getProperty("load.out", "target/load-scenario.json"));
+        Mix mix = Mix.parse(System.getProperty("load.mix", "dashboard=40,list=35,create=15,export=10"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        Settings settings = new Settings(baseUrl, users, requestsPerSession,
+                System.getProperty("load.password", "password123"), mix);
+
+        System.out.printf(Locale.ROOT, "[%s] %d workers, %d users, %d requests/session, mix=%s, %ds warm-up, %ds measured%n",
+                label, concurrency, users, requestsPerSession, mix, warmupSeconds, durationSeconds);
+        run(client, settings, concurrency, warmupSeconds, seed);
+        Map<String, LatencyStats> result = run(client, settings, concurrency, durationSeconds, seed + 1_000_003L);
+
+        LatencyStats total = new LatencyStats();
+        StringBuilder endpoints = new StringBuilder();
+        for (Map.Entry<String, LatencyStats> entry : result.entrySet()) {
+            total.addAll(entry.getValue());
+            endpoints.append(endpoints.length() == 0 ? "" : ",")
+                    .append('"').append(entry.getKey()).append("\":{")
+                    .append(entry.getValue().toJsonFields(durationSeconds)).append('}');
+        }
+        String json = String.format(Locale.ROOT,
+                "{\"label\":\"%s\",\"concurrency\":%d,\"durationSeconds\":%d,\"users\":%d,\"total\":{%s},\"endpoints\":{%s}}",
+                label, concurrency, durationSeconds, users, total.toJsonFields(durationSeconds), endpoints);
+
+        System.out.printf(Locale.ROOT, "%-12s %9s %9s %9s %9s %9s%n", "endpoint", "req/s", "p50 ms", "p90 ms", "p99 ms", "errors");
+        for (Map.Entry<String, LatencyStats> entry : result.entrySet()) {
+            print(entry.getKey(), entry.getValue(), durationSeconds);
+        }
+        print("total", total, durationSeconds);
+        System.out.println(json);
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, json);
+    }
+
+    private static void print(String name, LatencyStats stats, int seconds) {
+        System.out.printf(Locale.ROOT, "%-12s %9.1f %9.2f %9.2f %9.2f %9d%n", name, stats.count() / (double) seconds,
+                stats.percentileMs(50), stats.percentileMs(90), stats.percentileMs(99), stats.errors());
+    }
+
+    private static Map<String, LatencyStats> run(HttpClient client, Settings settings, int concurrency, int seconds,
+                                                 long seed) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Future<Worker>> futures = new ArrayList<>();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                Worker worker = new Worker(client, settings, i, concurrency, new Random(seed + i));
+                futures.add(workers.submit(() -> worker.runUntil(deadline)));
+            }
+        }
+        Map<String, LatencyStats> result = new LinkedHashMap<>();
+        for (String endpoint : ENDPOINTS) {
+            result.put(endpoint, new LatencyStats());
+        }
+        for (Future<Worker> future : futures) {
+            future.get().stats.forEach((endpoint, stats) -> result.get(endpoint).addAll(stats));
+        }
+        return result;
+    }
+
+    private record Settings(String baseUrl, int users, int requestsPerSession, String password, Mix mix) {
+    }
+
+    // Weighted choice between the session steps, e.g. dashboard=40,list=35,create=15,export=10
+    private record Mix(String[] steps, int[] cumulative) {
+
+        static Mix parse(String spec) {
+            List<String> steps = new ArrayList<>();
+            List<Integer> cumulative = new ArrayList<>();
+            int sum = 0;
+            for (String part : spec.split(",")) {
+                String[] pair = part.trim().split("=");
+                if (pair.length != 2 || !SESSION_STEPS.contains(pair[0])) {
+                    throw new IllegalArgumentException("Invalid load.mix entry: " + part);
+                }
+                sum += Integer.parseInt(pair[1]);
+                steps.add(pair[0]);
+                cumulative.add(sum);
+            }
+            return new Mix(steps.toArray(String[]::new), cumulative.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        String pick(Random random) {
+            int ticket = random.nextInt(cumulative[cumulative.length - 1]);
+            for (int i = 0; i < steps.length; i++) {
+                if (ticket < cumulative[i]) {
+                    return steps[i];
+                }
+            }
+            return steps[steps.length - 1];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < steps.length; i++) {
+                text.append(i == 0 ? "" : ",").append(steps[i]).append('=')
+                        .append(cumulative[i] - (i == 0 ? 0 : cumulative[i - 1]));
+            }
+            return text.toString();
+        }
+    }
+
+    private static final class Worker {
+        private final HttpClient client;
+        private final Settings settings;
+        private final Random random;
+        private final Map<String, LatencyStats> stats = new LinkedHashMap<>();
+        private long nextUser;
+        private final int userStride;
+
+        private String token;
+        private String userId;
+        private List<String> categoryIds = List.of();
+
+        private Worker(HttpClient client, Settings settings, int index, int concurrency, Random random) {
+            this.client = client;
+            this.settings = settings;
+            this.random = random;
+            this.nextUser = index;
+            this.userStride = concurrency;
+        }
+
+        private Worker runUntil(long deadline) {
+            try {
+                while (System.nanoTime() < deadline) {
+                    // Workers take turns over the users, so concurrent sessions use different accounts
+                    long sequence = nextUser;
+                    nextUser += userStride;
+                    if (!login(sequence)) {
+                        continue;
+                    }
+                    for (int i = 0; i < settings.requestsPerSession() && System.nanoTime() < deadline; i++) {
+                        step(settings.mix().pick(random));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return this;
+        }
+
+        private boolean login(long sequence) throws InterruptedException {
+            String email = String.format(Locale.ROOT, "load-%d@example.com", sequence % settings.users() + 1);
+            String body = "{\"userEmail\":\"" + email + "\",\"userPassword\":\"" + settings.password() + "\"}";
+            HttpResponse<String> login = send("login", HttpRequest.newBuilder(uri("/api/users/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)));
+            if (login == null || login.statusCode() != 200) {
+                return false;
+            }
+            token = find(TOKEN, login.body());
+            userId = find(USER_ID, login.body());
+
+            HttpResponse<String> categories = send("categories", authorized("/api/categories/user/" + userId).GET());
+            List<String> ids = new ArrayList<>();
+            if (categories != null) {
+                Matcher matcher = CATEGORY_ID.matcher(categories.body());
+                while (matcher.find()) {
+                    ids.add(matcher.group(1));
+                }
+            }
+            categoryIds = ids;
+            return true;
+        }
+
+        private void step(String step) throws InterruptedException {
+            switch (step) {
+                case "dashboard" -> send(step, authorized("/api/dashboard/user/" + userId).GET());
+                case "list" -> send(step, authorized("/api/transactions/user/" + userId + "?limit=20").GET());
+                case "create" -> {
+                    if (categoryIds.isEmpty()) {
+                        return;
+                    }
+                    String body = String.format(Locale.ROOT,
+                            "{\"transactionAmount\":%d,\"transactionDescription\":\"Load test\"," +
+                            "\"transactionDate\":\"%s\",\"categoryId\":%s,\"userId\":%s}",
+                            (1 + random.nextInt(200)) * 500, LocalDate.now(),
+                            categoryIds.get(random.nextInt(categoryIds.size())), userId);
+                    send(step, authorized("/api/transactions")
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body)));
+                }
+                case "export" -> {
+                    YearMonth month = YearMonth.now().minusMonths(random.nextInt(12));
+                    send(step, authorized("/api/transactions/export/csv/monthly/user/" + userId
+                            + "?year=" + month.getYear() + "&month=" + month.getMonthValue()).GET());
+                }
+                default -> throw new IllegalArgumentException(step);
+            }
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token);
+        }
+
+        private URI uri(String path) {
+            return URI.create(settings.baseUrl() + path);
+        }
+
+        // Response body is kept only for the steps that need it (login, categories)
+        private HttpResponse<String> send(String endpoint, HttpRequest.Builder builder) throws InterruptedException {
+            HttpRequest request = builder.timeout(Duration.ofSeconds(30)).build();
+            boolean keepBody = endpoint.equals("login") || endpoint.equals("categories");
+            long start = System.nanoTime();
+            String status;
+            HttpResponse<String> response = null;
+            try {
+                if (keepBody) {
+                    response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    status = String.valueOf(response.statusCode());
+                } else {
+                    status = String.valueOf(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+                }
+            } catch (IOException e) {
+                status = "io-error";
+            }
+            stats.computeIfAbsent(endpoint, k -> new LatencyStats()).record(System.nanoTime() - start, status);
+            return response;
+        }
+
+        private static String find(Pattern pattern, String body) {
+            Matcher matcher = pattern.matcher(body);
+            if (!matcher.find()) {
+                throw new IllegalStateException("Unexpected login response: " + body);
+            }
+            return matcher.group(1);
+        }
+    }
+}
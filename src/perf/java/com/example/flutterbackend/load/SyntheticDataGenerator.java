@@ -0,0 +1,297 @@
+package com.example.flutterbackend.load;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Writes a reproducible synthetic data set straight into the application schema with batched
+ * JDBC inserts: {@code data.users} users ({@code load-<n>@example.com}, password
+ * {@code data.password}), each with a realistic category set and {@code data.transactionsPerUser}
+ * transactions over the last {@code data.months} months.
+ *
+ * Distributions, all drawn from {@code data.seed}:
+ * <ul>
+ *   <li>dates skew towards the present (density grows quadratically towards data.endDate),
+ *       with more spending on weekends;</li>
+ *   <li>one salary per month on the 25th, rare bonus/investment income;</li>
+ *   <li>expense categories follow a Zipf-like popularity and log-normal amounts around a
+ *       per-category median (rounded to Rp 500), so a few large bills sit among many small ones.</li>
+ * </ul>
+ *
+ * The schema must already exist: start the application once against the database
+ * ({@code ddl-auto=update} for H2, or the db/mysql scripts), then stop it and run:
+ * <pre>
+ * mvn -Pperf -DskipTests test-compile
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *      -Ddata.url=jdbc:h2:file:./target/loaddb -Ddata.users=100 -Ddata.transactionsPerUser=10000 \
+ *      com.example.flutterbackend.load.SyntheticDataGenerator
+ * </pre>
+ * For MySQL use {@code -Ddata.url=jdbc:mysql://localhost:3306/db?rewriteBatchedStatements=true}
+ * so that batches are sent as multi-row INSERTs. {@code data.reset=true} (default) first removes
+ * the users created by an earlier run. user_monthly_rollup is emptied at the end, so the
+ * application rebuilds it on its next start. Transaction IDs are taken above the application's
+ * transaction_seq, which is then moved past them; the application must not be running.
+ */
+public class SyntheticDataGenerator {
+
+    private static final String EMAIL_FORMAT = "load-%d@example.com";
+    // Same as @SequenceGenerator(allocationSize) on Transaction
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    // Name, median amount (Rp), popularity weight
+    private static final Object[][] EXPENSE_CATEGORIES = {
+            {"Makanan", 35_000, 30}, {"Transportasi", 25_000, 20}, {"Belanja", 150_000, 12},
+            {"Tagihan", 400_000, 6}, {"Hiburan", 100_000, 5}, {"Kesehatan", 200_000, 3},
+            {"Pendidikan", 750_000, 2}, {"Donasi", 50_000, 2},
+    };
+    private static final String[] INCOME_CATEGORIES = {"Gaji", "Bonus", "Investasi"};
+    private static final String[][] DESCRIPTIONS = {
+            {"Makan siang", "Kopi", "Sarapan", "Makan malam keluarga", "GoFood"},
+            {"Bensin", "Ojek online", "Parkir", "Tol", "KRL"},
+            {"Belanja bulanan", "Pakaian", "Elektronik", "Marketplace"},
+            {"Listrik", "Internet", "Air PDAM", "Pulsa, paket data"},
+            {"Bioskop", "Streaming", "Konser", "Game"},
+            {"Apotek", "Dokter", "BPJS"},
+            {"Kursus", "Buku", "SPP"},
+            {"Zakat", "Sumbangan"},
+    };
+
+    private final Random random;
+    private final int batchSize;
+    private final LocalDate endDate;
+    private final LocalDate startDate;
+    private long nextTransactionId;
+    private Timestamp updatedAt;
+
+    SyntheticDataGenerator(long seed, int batchSize, LocalDate endDate, int months) {
+        this.random = new Random(seed);
+        this.batchSize = batchSize;
+        this.endDate = endDate;
+        this.startDate = endDate.minusMonths(months).plusDays(1);
+    }
+
+    public static void main(String[] args) throws SQLException {
+        String url = System.getProperty("data.url", "jdbc:h2:file:./target/loaddb");
+        String user = System.getProperty("data.user", "sa");
+        String password = System.getProperty("data.dbPassword", "");
+        int users = Integer.getInteger("data.users", 100);
+        int transactionsPerUser = Integer.getInteger("data.transactionsPerUser", 1_000);
+        int months = Integer.getInteger("data.months", 24);
+        long seed = Long.getLong("data.seed", 42L);
+        int batchSize = Integer.getInteger("data.batchSize", 1_000);
+        LocalDate endDate = LocalDate.parse(System.getProperty("data.endDate", LocalDate.now().toString()));
+        boolean reset = Boolean.parseBoolean(System.getProperty("data.reset", "true"));
+        String userPassword = System.getProperty("data.password", "password123");
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(seed, batchSize, endDate, months);
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            if (reset) {
+                generator.reset(connection);
+            }
+            long started = System.nanoTime();
+            long rows = generator.generate(connection, users, transactionsPerUser,
+                    new BCryptPasswordEncoder().encode(userPassword));
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM user_monthly_rollup");
+            }
+            connection.commit();
+            double seconds = (System.nanoTime() - started) / 1e9;
+            System.out.printf(Locale.ROOT, "Generated %d users, %d transactions in %.1f s (%.0f rows/s), %s .. %s%n",
+                    users, rows, seconds, rows / seconds, generator.startDate, generator.endDate);
+        }
+    }
+
+    void reset(Connection connection) throws SQLException {
+        String generatedUsers = "SELECT user_id FROM users WHERE user_email LIKE 'load-%@example.com'";
+        try (Statement statement = connection.createStatement()) {
+            int transactions = statement.executeUpdate("DELETE FROM transactions WHERE user_id IN (" + generatedUsers + ")");
+            statement.executeUpdate("DELETE FROM categories WHERE user_id IN (" + generatedUsers + ")");
+            int users = statement.executeUpdate("DELETE FROM users WHERE user_email LIKE 'load-%@example.com'");
+            connection.commit();
+            System.out.printf(Locale.ROOT, "Removed %d generated users and %d transactions%n", users, transactions);
+        }
+    }
+
+    long generate(Connection connection, int users, int transactionsPerUser, String passwordHash) throws SQLException {
+        long total = 0;
+        boolean h2 = connection.getMetaData().getDatabaseProductName().startsWith("H2");
+        nextTransactionId = firstFreeTransactionId(connection, h2);
+        // updated_at is written by the application in UTC; one value for the whole run is enough for the sync cursor
+        updatedAt = Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC));
+        try (PreparedStatement insertUser = connection.prepareStatement(
+                     "INSERT INTO users (user_name, user_email, user_password, user_profile, is_deleted, token_version) " +
+                     "VALUES (?, ?, ?, 'default_profile', false, 0)", Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement insertCategory = connection.prepareStatement(
+                     "INSERT INTO categories (category_name, is_expense, is_deleted, user_id) VALUES (?, ?, false, ?)",
+                     Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement insertTransaction = connection.prepareStatement(
+                     "INSERT INTO transactions (transaction_amount, transaction_description, transaction_date, " +
+                     "is_deleted, category_id, user_id, transaction_id, updated_at) VALUES (?, ?, ?, false, ?, ?, ?, ?)")) {
+
+            for (int n = 1; n <= users; n++) {
+                long userId = insert(insertUser, "Load User " + n, String.format(Locale.ROOT, EMAIL_FORMAT, n), passwordHash);
+                List<long[]> expenses = new ArrayList<>();
+                // Each user has 5..8 expense categories, always including the most popular ones
+                int expenseCount = 5 + random.nextInt(EXPENSE_CATEGORIES.length - 4);
+                for (int c = 0; c < expenseCount; c++) {
+                    long categoryId = insert(insertCategory, (String) EXPENSE_CATEGORIES[c][0], true, userId);
+                    expenses.add(new long[]{categoryId, c});
+                }
+                long[] income = new long[INCOME_CATEGORIES.length];
+                for (int c = 0; c < INCOME_CATEGORIES.length; c++) {
+                    income[c] = insert(insertCategory, INCOME_CATEGORIES[c], false, userId);
+                }
+                total += insertTransactions(connection, insertTransaction, userId, expenses, income, transactionsPerUser);
+            }
+        }
+        advanceSequence(connection, h2, nextTransactionId - 1);
+        return total;
+    }
+
+    // Above every stored ID and every ID the sequence may already have handed out
+    private static long firstFreeTransactionId(Connection connection, boolean h2) throws SQLException {
+        long maxId = queryLong(connection, "SELECT COALESCE(MAX(transaction_id), 0) FROM transactions");
+        long sequence = h2
+                ? queryLong(connection, "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'TRANSACTION_SEQ'")
+                : queryLong(connection, "SELECT next_val FROM transaction_seq");
+        return Math.max(maxId, sequence) + 1;
+    }
+
+    // The pooled optimizer uses (value - 49) .. value for a fetched value, so start the next block after lastId
+    private static void advanceSequence(Connection connection, boolean h2, long lastId) throws SQLException {
+        long next = lastId + ID_ALLOCATION_SIZE;
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(h2
+                    ? "ALTER SEQUENCE transaction_seq RESTART WITH " + next
+                    : "UPDATE transaction_seq SET next_val = " + next);
+        }
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            return result.next() ? result.getLong(1) : 0L;
+        }
+    }
+
+    private long insertTransactions(Connection connection, PreparedStatement insert, long userId,
+                                    List<long[]> expenses, long[] income, int count) throws SQLException {
+        int totalWeight = 0;
+        for (long[] expense : expenses) {
+            totalWeight += (int) EXPENSE_CATEGORIES[(int) expense[1]][2];
+        }
+        BigDecimal salary = roundAmount(Math.exp(Math.log(8_000_000) + 0.5 * random.nextGaussian()));
+
+        // Salary on the 25th of every month in range, capped at a tenth of the user's transactions
+        int pending = 0;
+        int written = 0;
+        for (LocalDate payday = startDate.withDayOfMonth(25); !payday.isAfter(endDate) && written < count / 10;
+             payday = payday.plusMonths(1)) {
+            if (payday.isBefore(startDate)) {
+                continue;
+            }
+            pending = add(connection, insert, pending, salary, "Gaji bulanan", payday, income[0], userId);
+            written++;
+        }
+
+        long spanDays = endDate.toEpochDay() - startDate.toEpochDay();
+        while (written < count) {
+            LocalDate date = skewedDate(spanDays);
+            if (random.nextInt(100) < 2) {
+                int kind = 1 + random.nextInt(INCOME_CATEGORIES.length - 1);
+                BigDecimal amount = roundAmount(Math.exp(Math.log(2_000_000) + random.nextGaussian()));
+                pending = add(connection, insert, pending, amount, INCOME_CATEGORIES[kind], date, income[kind], userId);
+            } else {
+                long[] category = pickExpense(expenses, totalWeight);
+                int index = (int) category[1];
+                double median = (int) EXPENSE_CATEGORIES[index][1];
+                BigDecimal amount = roundAmount(Math.exp(Math.log(median) + 0.8 * random.nextGaussian()));
+                String[] descriptions = DESCRIPTIONS[index];
+                String description = random.nextInt(10) == 0 ? null : descriptions[random.nextInt(descriptions.length)];
+                pending = add(connection, insert, pending, amount, description, date, category[0], userId);
+            }
+            written++;
+        }
+        if (pending > 0) {
+            insert.executeBatch();
+            connection.commit();
+        }
+        return written;
+    }
+
+    private int add(Connection connection, PreparedStatement insert, int pending, BigDecimal amount,
+                    String description, LocalDate date, long categoryId, long userId) throws SQLException {
+        insert.setBigDecimal(1, amount);
+        insert.setString(2, description);
+        insert.setDate(3, Date.valueOf(date));
+        insert.setLong(4, categoryId);
+        insert.setLong(5, userId);
+        insert.setLong(6, nextTransactionId++);
+        insert.setTimestamp(7, updatedAt);
+        insert.addBatch();
+        if (++pending == batchSize) {
+            insert.executeBatch();
+            connection.commit();
+            return 0;
+        }
+        return pending;
+    }
+
+    // Density grows towards endDate; weekdays are a little quieter than weekends
+    private LocalDate skewedDate(long spanDays) {
+        while (true) {
+            double u = random.nextDouble();
+            LocalDate date = endDate.minusDays((long) (spanDays * u * u));
+            DayOfWeek day = date.getDayOfWeek();
+            boolean weekend = day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+            if (weekend || random.nextInt(100) < 75) {
+                return date;
+            }
+        }
+    }
+
+    private long[] pickExpense(List<long[]> expenses, int totalWeight) {
+        int ticket = random.nextInt(totalWeight);
+        for (long[] expense : expenses) {
+            ticket -= (int) EXPENSE_CATEGORIES[(int) expense[1]][2];
+            if (ticket < 0) {
+                return expense;
+            }
+        }
+        return expenses.get(expenses.size() - 1);
+    }
+
+    private static BigDecimal roundAmount(double amount) {
+        long rounded = Math.max(1_000L, Math.round(amount / 500.0) * 500L);
+        return BigDecimal.valueOf(rounded).setScale(2, RoundingMode.UNNECESSARY);
+    }
+
+    private static long insert(PreparedStatement statement, Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            statement.setObject(i + 1, values[i]);
+        }
+        statement.executeUpdate();
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            keys.next();
+            return keys.getLong(1);
+        }
+    }
+}
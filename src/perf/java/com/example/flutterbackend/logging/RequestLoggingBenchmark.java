@@ -0,0 +1,123 @@
+package com.example.flutterbackend.logging;
+
+import ch.qos.logback.classic.Level;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request tracing cost for an authenticated GET /api/transactions/user/{id}.
+ *
+ * legacy* replay the lines that request used to print: JwtFilter (shouldNotFilter and nine
+ * lines in doFilterInternal), AuthenticationHelper.validateUserAccess, TransactionController and
+ * TransactionService, each built by string concatenation and written with println to an
+ * autoflushing PrintStream on a file descriptor, like System.out. slf4j* issue the same
+ * statements through SLF4J at DEBUG with the application logger at INFO, as in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestLoggingBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger("com.example.flutterbackend.security.JwtFilter");
+
+    private final String method = "GET";
+    private final String requestUri = "/api/transactions/user/42";
+    private final String jwt = "eyJhbGciOiJIUzM4NCIsImtpZCI6InByaW1hcnkifQ."
+            + "eyJ1c2VySWQiOjQyLCJ1c2VyRW1haWwiOiJiZW5jaEBleGFtcGxlLmNvbSIsInR2IjowLCJzdWIiOiJiZW5jaEBleGFtcGxlLmNvbSJ9."
+            + "c2lnbmF0dXJlLXNpZ25hdHVyZS1zaWduYXR1cmUtc2lnbmF0dXJlLXNpZ25hdHVyZQ";
+    private final String userEmail = "bench@example.com";
+    private final Long userId = 42L;
+
+    private PrintStream legacyOut;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws FileNotFoundException {
+        String nullDevice = System.getProperty("os.name").startsWith("Windows") ? "NUL" : "/dev/null";
+        legacyOut = new PrintStream(new FileOutputStream(nullDevice), true);
+        // Same levels as application.properties
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.example.flutterbackend")).setLevel(Level.INFO);
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        legacyOut.close();
+    }
+
+    @Benchmark
+    public void legacyStdoutTracing() {
+        legacyTrace();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void legacyStdoutTracingContended() {
+        legacyTrace();
+    }
+
+    @Benchmark
+    public void slf4jDebugDisabled() {
+        slf4jTrace();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void slf4jDebugDisabledContended() {
+        slf4jTrace();
+    }
+
+    private void legacyTrace() {
+        PrintStream out = legacyOut;
+        out.println("Should skip JWT filter for " + requestUri + ": " + false);
+        out.println("=== JWT Filter Processing ===");
+        out.println("Request: " + method + " " + requestUri);
+        out.println("Authorization Header: " + (jwt != null ? "Present" : "Not Present"));
+        out.println("JWT Token extracted, length: " + jwt.length());
+        out.println("Extracted - Email: " + userEmail + ", UserId: " + userId);
+        out.println("Token is valid for user: " + userEmail);
+        out.println("User found and active: " + userId);
+        out.println("Authentication set successfully for user: " + userId);
+        out.println("=== JWT Filter Complete ===");
+        out.println("=== GET /api/transactions/user/" + userId + " called ===");
+        out.println("User ID from request attribute: " + userId);
+        out.println("User access validation - Authenticated: " + userId + ", Path: " + userId + ", HasAccess: " + true);
+        out.println("=== TransactionService.getTransactionsByUserId() called for user: " + userId + " ===");
+    }
+
+    private void slf4jTrace() {
+        log.debug("Should skip JWT filter for {}: {}", requestUri, false);
+        log.debug("JWT Filter Processing");
+        log.debug("Request: {} {}", method, requestUri);
+        log.debug("Authorization Header: {}", (jwt != null ? "Present" : "Not Present"));
+        log.debug("JWT Token extracted, length: {}", jwt.length());
+        log.debug("Extracted - Email: {}, UserId: {}", userEmail, userId);
+        log.debug("Token is valid for user: {}", userEmail);
+        log.debug("User found and active: {}", userId);
+        log.debug("Authentication set successfully for user: {}", userId);
+        log.debug("JWT Filter Complete");
+        log.debug("GET /api/transactions/user/{} called", userId);
+        log.debug("User ID from request attribute: {}", userId);
+        log.debug("User access validation - Authenticated: {}, Path: {}, HasAccess: {}", userId, userId, true);
+        log.debug("TransactionService.getTransactionsByUserId() called for user: {}", userId);
+    }
+}
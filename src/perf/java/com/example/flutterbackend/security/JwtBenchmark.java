@@ -0,0 +1,112 @@
+package com.example.flutterbackend.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generate/verify throughput.
+ *
+ * legacy* reproduce the old JwtUtil: the HMAC key is re-derived and a new parser is built on
+ * every call, and the filter verified each token three times per request (extractUsername,
+ * extractUserId, validateToken). The other benchmarks go through the current JwtUtil /
+ * JwtClaimsCache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private JwtUtil jwtUtil;
+    private JwtClaimsCache claimsCache;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // JwtUtil traces token generation at DEBUG; keep the console out of the measurement
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME))
+                .setLevel(ch.qos.logback.classic.Level.INFO);
+
+        JwtKeyRing keyRing = new JwtKeyRing(SECRET, "primary", "");
+        jwtUtil = new JwtUtil(keyRing, 300_000L);
+        claimsCache = new JwtClaimsCache(jwtUtil, keyRing, 10_000);
+        token = jwtUtil.generateToken(42L, "bench@example.com", 0L);
+        claimsCache.verify(token);
+    }
+
+    @Benchmark
+    public String legacyGenerate() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", 42L);
+        claims.put("userEmail", "bench@example.com");
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject("bench@example.com")
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 300_000L))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken(42L, "bench@example.com", 0L);
+    }
+
+    @Benchmark
+    public Claims legacyVerify() {
+        return legacyParse(token);
+    }
+
+    @Benchmark
+    public TokenClaims verify() {
+        return jwtUtil.parseToken(token);
+    }
+
+    // Per-request cost in JwtFilter before: three full parses of the same token
+    @Benchmark
+    public Object legacyFilterPath() {
+        legacyParse(token);
+        legacyParse(token);
+        return legacyParse(token).getSubject();
+    }
+
+    // Per-request cost in JwtFilter now for a token seen before
+    @Benchmark
+    public TokenClaims cachedFilterPath() {
+        return claimsCache.verify(token);
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
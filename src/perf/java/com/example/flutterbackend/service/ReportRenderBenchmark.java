@@ -0,0 +1,59 @@
+package com.example.flutterbackend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV and PDF report rendering through TransactionService.writeCsvReport / writePdfReport,
+ * with rows streamed from an in-memory repository (see {@link ServiceFixtures}) into a
+ * discarding writer, so only formatting and rendering are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx1g"})
+public class ReportRenderBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private TransactionService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME))
+                .setLevel(ch.qos.logback.classic.Level.INFO);
+        service = ServiceFixtures.transactionService(ServiceFixtures.transactions(rows));
+    }
+
+    @Benchmark
+    public long csv() throws IOException {
+        return service.writeCsvReport(ServiceFixtures.USER_ID, ServiceFixtures.START, ServiceFixtures.END,
+                Writer.nullWriter());
+    }
+
+    @Benchmark
+    public void pdf() {
+        service.writePdfReport(ServiceFixtures.USER_ID, ServiceFixtures.START, ServiceFixtures.END,
+                OutputStream.nullOutputStream());
+    }
+}
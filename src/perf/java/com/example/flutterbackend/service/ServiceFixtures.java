@@ -0,0 +1,146 @@
+package com.example.flutterbackend.service;
+
+import com.example.flutterbackend.model.Category;
+import com.example.flutterbackend.model.Transaction;
+import com.example.flutterbackend.model.User;
+import com.example.flutterbackend.repository.IncomeExpenseTotals;
+import com.example.flutterbackend.repository.TransactionRepository;
+import com.example.flutterbackend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * In-memory stand-ins for the repositories so benchmarks run the real TransactionService code
+ * (mapping, CSV/PDF rendering) without a database. Rows are generated from a fixed seed, so every
+ * run and every commit measures the same data.
+ */
+final class ServiceFixtures {
+
+    static final long USER_ID = 1L;
+    static final LocalDate START = LocalDate.of(2024, 1, 1);
+    static final LocalDate END = LocalDate.of(2024, 12, 31);
+
+    private static final String[] DESCRIPTIONS = {
+            "Makan siang", "Bensin", "Gaji bulanan", "Belanja \"mingguan\"", "Pulsa, paket data", null, "Transfer"
+    };
+
+    private ServiceFixtures() {
+    }
+
+    static User user() {
+        User user = new User();
+        user.setUserId(USER_ID);
+        user.setUserName("Bench");
+        user.setUserEmail("bench@example.com");
+        return user;
+    }
+
+    static List<Transaction> transactions(int count) {
+        User user = user();
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Category category = new Category();
+            category.setCategoryId((long) i + 1);
+            category.setCategoryName("Category " + (i + 1));
+            category.setIsExpense(i % 4 != 0);
+            category.setCreatedBy(user);
+            categories.add(category);
+        }
+
+        Random random = new Random(42);
+        int days = (int) (END.toEpochDay() - START.toEpochDay()) + 1;
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Transaction tx = new Transaction();
+            tx.setTransactionId((long) count - i);
+            tx.setTransactionAmount(BigDecimal.valueOf(1_000 + random.nextInt(5_000_000), 0));
+            tx.setTransactionDescription(DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)]);
+            // Urut tanggal menurun seperti query repository
+            tx.setTransactionDate(END.minusDays((long) i * days / Math.max(count, 1)));
+            tx.setCategory(categories.get(random.nextInt(categories.size())));
+            tx.setUser(user);
+            tx.setIsDeleted(false);
+            transactions.add(tx);
+        }
+        return transactions;
+    }
+
+    static TransactionService transactionService(List<Transaction> transactions) {
+        User user = user();
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        for (Transaction tx : transactions) {
+            if (tx.getCategory().getIsExpense()) {
+                expense = expense.add(tx.getTransactionAmount());
+            } else {
+                income = income.add(tx.getTransactionAmount());
+            }
+        }
+        IncomeExpenseTotals totals = totals(income, expense);
+
+        TransactionRepository transactionRepository = stub(TransactionRepository.class, (method, args) -> switch (method) {
+            case "findByUserId" -> transactions;
+            case "findById" -> transactions.stream()
+                    .filter(tx -> tx.getTransactionId().equals(args[0])).findFirst();
+            case "findPageByUserId" -> transactions.subList(0,
+                    Math.min(transactions.size(), ((Pageable) args[1]).getPageSize()));
+            case "streamByUserIdAndDateRange" -> transactions.stream();
+            case "sumTotalsByUserIdAndDateRange" -> totals;
+            default -> throw new UnsupportedOperationException(method);
+        });
+        UserRepository userRepository = stub(UserRepository.class, (method, args) -> switch (method) {
+            case "findById" -> Optional.of(user);
+            default -> throw new UnsupportedOperationException(method);
+        });
+        // Tidak ada persistence context; detach tidak melakukan apa-apa
+        EntityManager entityManager = stub(EntityManager.class, (method, args) -> null);
+
+        TransactionService service = new TransactionService();
+        ReflectionTestUtils.setField(service, "transactionRepository", transactionRepository);
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(service, "maxPageSize", 100);
+        return service;
+    }
+
+    static IncomeExpenseTotals totals(BigDecimal income, BigDecimal expense) {
+        return new IncomeExpenseTotals() {
+            @Override
+            public BigDecimal getTotalIncome() {
+                return income;
+            }
+
+            @Override
+            public BigDecimal getTotalExpense() {
+                return expense;
+            }
+        };
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "toString" -> type.getSimpleName() + " stub";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> handler.invoke(method.getName(), args);
+                });
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.flutterbackend.service;
+
+import com.example.flutterbackend.dto.TransactionDTO;
+import com.example.flutterbackend.dto.TransactionPageDTO;
+import com.example.flutterbackend.dto.TransactionSummaryDTO;
+import com.example.flutterbackend.model.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping in TransactionService over in-memory rows (see {@link ServiceFixtures}).
+ *
+ * getById maps a single row (convertToDTO), list maps every row of the user (legacy
+ * GET /api/transactions/user/{id}), page maps one keyset page of {@code pageSize} rows.
+ * summary builds a TransactionSummaryDTO the way the summary endpoints and reports do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionMappingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    private TransactionService service;
+    private Long firstTransactionId;
+    private BigDecimal income;
+    private BigDecimal expense;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME))
+                .setLevel(ch.qos.logback.classic.Level.INFO);
+
+        List<Transaction> transactions = ServiceFixtures.transactions(rows);
+        service = ServiceFixtures.transactionService(transactions);
+        firstTransactionId = transactions.get(0).getTransactionId();
+        income = new BigDecimal("12500000.00");
+        expense = new BigDecimal("9876543.21");
+    }
+
+    @Benchmark
+    public TransactionDTO getById() {
+        return service.getTransactionByIdAndUserId(firstTransactionId, ServiceFixtures.USER_ID);
+    }
+
+    @Benchmark
+    public List<TransactionDTO> list() {
+        return service.getTransactionsByUserId(ServiceFixtures.USER_ID);
+    }
+
+    @Benchmark
+    public TransactionPageDTO page() {
+        return service.getTransactionsPageByUserId(ServiceFixtures.USER_ID, 100, null);
+    }
+
+    @Benchmark
+    public BigDecimal summary() {
+        return new TransactionSummaryDTO(income, expense).getNetBalance();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.flutterbackend.Controller;
+
+import com.example.flutterbackend.model.User;
+import com.example.flutterbackend.repository.UserRepository;
+import com.example.flutterbackend.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Parameter paginasi yang salah adalah kesalahan client: 400 dengan pesan, bukan 500
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:transaction-controller;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TransactionControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	private User user;
+	private String authorization;
+
+	@BeforeEach
+	void login() {
+		user = userRepository.findByUserEmail("user@example.com").orElseThrow();
+		authorization = "Bearer " + jwtUtil.generateToken(user.getUserId(), user.getUserEmail(), user.getTokenVersion());
+	}
+
+	@Test
+	void garbageCursorIsBadRequest() throws Exception {
+		mockMvc.perform(get("/api/transactions/user/{userId}", user.getUserId())
+						.param("cursor", "bukan-cursor!")
+						.header("Authorization", authorization))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Cursor tidak valid"));
+	}
+
+	@Test
+	void limitOutOfRangeIsBadRequest() throws Exception {
+		mockMvc.perform(get("/api/transactions/user/{userId}", user.getUserId())
+						.param("limit", "0")
+						.header("Authorization", authorization))
+				.andExpect(status().isBadRequest());
+	}
+}
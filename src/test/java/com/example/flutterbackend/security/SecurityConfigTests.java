@@ -0,0 +1,65 @@
+package com.example.flutterbackend.security;
+
+import com.example.flutterbackend.model.User;
+import com.example.flutterbackend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Endpoint actuator: health publik, scrape Prometheus hanya dengan kredensial scrape
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:security-config;DB_CLOSE_DELAY=-1",
+		"app.metrics.scrape-username=scraper",
+		"app.metrics.scrape-password=scrape-secret"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class SecurityConfigTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Test
+	void healthIsPublic() throws Exception {
+		mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+	}
+
+	@Test
+	void prometheusRequiresScrapeCredentials() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/actuator/prometheus").header("Authorization", basic("scraper", "salah")))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/actuator/prometheus").header("Authorization", basic("scraper", "scrape-secret")))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void userTokenDoesNotGrantPrometheus() throws Exception {
+		User user = userRepository.findByUserEmail("user@example.com").orElseThrow();
+		String token = jwtUtil.generateToken(user.getUserId(), user.getUserEmail(), user.getTokenVersion());
+
+		mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + token))
+				.andExpect(status().is4xxClientError());
+	}
+
+	private static String basic(String username, String password) {
+		return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+	}
+}
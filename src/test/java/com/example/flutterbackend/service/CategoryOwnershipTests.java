@@ -0,0 +1,134 @@
+package com.example.flutterbackend.service;
+
+import com.example.flutterbackend.dto.CategoryDTO;
+import com.example.flutterbackend.dto.TransactionDTO;
+import com.example.flutterbackend.exception.AccessDeniedException;
+import com.example.flutterbackend.model.Category;
+import com.example.flutterbackend.model.User;
+import com.example.flutterbackend.repository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Kepemilikan kategori saat transaksi ditulis, termasuk saat index kategori (CategoryCache) basi:
+// kategori yang dibuat tanpa lewat CategoryService di instance ini (misalnya lewat instance lain)
+// tidak memicu invalidasi, jadi tidak ada di snapshot yang sudah di-cache.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:category-ownership;DB_CLOSE_DELAY=-1",
+		// Setiap hit di snapshot dianggap sudah melewati write-max-age dan dicek ulang ke tabel
+		"app.category-cache.write-max-age-seconds=0"
+})
+class CategoryOwnershipTests extends ServiceTestSupport {
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void ownedCategoryMissingFromStaleIndexIsAccepted() {
+		Category category = categoryRepository.save(new Category("Dari Instance Lain", true, user));
+		assertThat(categoryService.getCategorySnapshot(user.getUserId()).find(category.getCategoryId())).isNull();
+
+		TransactionDTO created = transactionService.createTransaction(transaction(category.getCategoryId()));
+
+		assertThat(created.getTransactionType()).isEqualTo("EXPENSE");
+		// Snapshot di-evict dan dimuat ulang dengan kategori baru
+		assertThat(categoryService.getCategorySnapshot(user.getUserId()).find(category.getCategoryId())).isNotNull();
+	}
+
+	@Test
+	void bulkCreateAcceptsOwnedCategoryMissingFromStaleIndex() {
+		Category category = categoryRepository.save(new Category("Bulk Instance Lain", false, user));
+
+		List<TransactionDTO> created = transactionService.createTransactions(user.getUserId(),
+				List.of(transaction(category.getCategoryId()), transaction(category.getCategoryId())));
+
+		assertThat(created).extracting(TransactionDTO::getTransactionType).containsExactly("INCOME", "INCOME");
+	}
+
+	@Test
+	void categoryDeletedElsewhereIsRejectedDespiteSnapshotHit() {
+		Long categoryId = indexedCategory("Dihapus Instance Lain", true);
+		jdbcTemplate.update("UPDATE categories SET is_deleted = true WHERE category_id = ?", categoryId);
+
+		assertThatThrownBy(() -> transactionService.createTransaction(transaction(categoryId)))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+	}
+
+	@Test
+	void typeChangedElsewhereIsTakenFromTheTableDespiteSnapshotHit() {
+		Long categoryId = indexedCategory("Tipe Diubah Instance Lain", true);
+		jdbcTemplate.update("UPDATE categories SET is_expense = false WHERE category_id = ?", categoryId);
+
+		TransactionDTO created = transactionService.createTransaction(transaction(categoryId));
+
+		assertThat(created.getTransactionType()).isEqualTo("INCOME");
+	}
+
+	@Test
+	void duplicateNameMissingFromStaleIndexIsRejected() {
+		categoryRepository.save(new Category("Nama Dari Instance Lain", true, user));
+		CategoryDTO duplicate = new CategoryDTO();
+		duplicate.setCategoryName("Nama Dari Instance Lain");
+		duplicate.setIsExpense(false);
+
+		assertThatThrownBy(() -> categoryService.createCategory(duplicate, user.getUserId()))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+	}
+
+	@Test
+	void categoryOfAnotherUserIsRejected() {
+		User other = userRepository.save(new User("Other", "other-ownership@example.com", "secret"));
+		Category foreign = categoryRepository.save(new Category("Milik User Lain", true, other));
+
+		assertThatThrownBy(() -> transactionService.createTransaction(transaction(foreign.getCategoryId())))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN));
+		assertThatThrownBy(() -> transactionService.createTransactions(user.getUserId(),
+				List.of(transaction(foreign.getCategoryId()))))
+				.isInstanceOf(AccessDeniedException.class);
+	}
+
+	@Test
+	void unknownCategoryIsRejected() {
+		assertThatThrownBy(() -> transactionService.createTransaction(transaction(987_654L)))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+	}
+
+	// Kategori baru yang sudah ada di snapshot user
+	private Long indexedCategory(String name, boolean isExpense) {
+		CategoryDTO dto = new CategoryDTO();
+		dto.setCategoryName(name);
+		dto.setIsExpense(isExpense);
+		Long categoryId = categoryService.createCategory(dto, user.getUserId()).getCategoryId();
+		assertThat(categoryService.getCategorySnapshot(user.getUserId()).find(categoryId)).isNotNull();
+		return categoryId;
+	}
+
+	private TransactionDTO transaction(Long categoryId) {
+		TransactionDTO dto = new TransactionDTO();
+		dto.setTransactionAmount(new BigDecimal("1000"));
+		dto.setTransactionDate(LocalDate.now());
+		dto.setCategoryId(categoryId);
+		dto.setUserId(user.getUserId());
+		return dto;
+	}
+}
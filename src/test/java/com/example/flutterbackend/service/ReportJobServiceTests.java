@@ -0,0 +1,42 @@
+package com.example.flutterbackend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:report-job-service;DB_CLOSE_DELAY=-1",
+		"app.reports.storage-dir=target/report-job-service-tests"
+})
+class ReportJobServiceTests extends ServiceTestSupport {
+
+	private static final Path STORAGE_DIR = Paths.get("target/report-job-service-tests");
+
+	@Autowired
+	private ReportJobService reportJobService;
+
+	@Test
+	void startupPurgeDeletesOnlyReportFiles() throws IOException {
+		Files.createDirectories(STORAGE_DIR);
+		String jobId = UUID.randomUUID().toString();
+		Path csv = Files.writeString(STORAGE_DIR.resolve(jobId + ".csv"), "a,b");
+		Path partialPdf = Files.writeString(STORAGE_DIR.resolve(UUID.randomUUID() + ".pdf.part"), "%PDF");
+		Path foreign = Files.writeString(STORAGE_DIR.resolve("catatan.txt"), "bukan laporan");
+		Path foreignCsv = Files.writeString(STORAGE_DIR.resolve("export-" + jobId + ".csv"), "a,b");
+
+		reportJobService.purgeOrphanFilesOnStartup();
+
+		assertThat(csv).doesNotExist();
+		assertThat(partialPdf).doesNotExist();
+		assertThat(foreign).exists();
+		assertThat(foreignCsv).exists();
+	}
+}
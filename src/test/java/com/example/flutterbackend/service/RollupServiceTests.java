@@ -0,0 +1,40 @@
+package com.example.flutterbackend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:rollup-service;DB_CLOSE_DELAY=-1",
+		"app.rollup.rebuild-on-startup=true"
+})
+class RollupServiceTests extends ServiceTestSupport {
+
+	@Autowired
+	private RollupService rollupService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void failedStartupBackfillIsRolledBackWithoutFailingTheCaller() {
+		long rollupRows = countRollups();
+		// Query rebuild gagal di tengah transaksi (tabel sumber tidak ada)
+		jdbcTemplate.execute("ALTER TABLE transactions RENAME TO transactions_unavailable");
+		try {
+			assertThatCode(() -> rollupService.backfillOnStartup()).doesNotThrowAnyException();
+		} finally {
+			jdbcTemplate.execute("ALTER TABLE transactions_unavailable RENAME TO transactions");
+		}
+		// DELETE sebelum rebuild ikut di-rollback
+		assertThat(countRollups()).isEqualTo(rollupRows);
+	}
+
+	private long countRollups() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_monthly_rollup", Long.class);
+	}
+}
@@ -0,0 +1,29 @@
+package com.example.flutterbackend.service;
+
+import com.example.flutterbackend.model.User;
+import com.example.flutterbackend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// Dasar test service dengan H2 (profil "test"): user data awal dan index kategori yang sudah hangat.
+// Subkelas memberi database sendiri lewat @SpringBootTest(properties = "spring.datasource.url=...").
+@SpringBootTest
+@ActiveProfiles("test")
+abstract class ServiceTestSupport {
+
+	@Autowired
+	protected CategoryService categoryService;
+
+	@Autowired
+	protected UserRepository userRepository;
+
+	protected User user;
+
+	@BeforeEach
+	void warmCategoryIndex() {
+		user = userRepository.findByUserEmail("user@example.com").orElseThrow();
+		categoryService.getCategorySnapshot(user.getUserId());
+	}
+}
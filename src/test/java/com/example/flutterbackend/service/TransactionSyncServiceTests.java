@@ -0,0 +1,269 @@
+package com.example.flutterbackend.service;
+
+import com.example.flutterbackend.dto.SyncOperationDTO;
+import com.example.flutterbackend.dto.SyncRequestDTO;
+import com.example.flutterbackend.dto.SyncResponseDTO;
+import com.example.flutterbackend.dto.SyncResultDTO;
+import com.example.flutterbackend.dto.TransactionDTO;
+import com.example.flutterbackend.model.Category;
+import com.example.flutterbackend.model.User;
+import com.example.flutterbackend.repository.CategoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// POST /api/transactions/sync di level service: hasil per operasi, kiriman ulang, dan feed perubahan
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:transaction-sync;DB_CLOSE_DELAY=-1",
+		// Feed perubahan tertinggal write-timeout + margin = 2 detik dari sekarang
+		"app.transactions.write-timeout-seconds=2",
+		"app.sync.cursor-margin-ms=0",
+		"app.sync.max-changes=2"
+})
+@Import(TransactionSyncServiceTests.ClockTestConfig.class)
+class TransactionSyncServiceTests extends ServiceTestSupport {
+
+	private static final Duration PAST_WRITE_TIMEOUT = Duration.ofMillis(2_100);
+
+	// Clock TransactionSyncService yang bisa dimajukan; updated_at tetap diisi dengan waktu sebenarnya,
+	// jadi memajukan clock membuat baris yang baru ditulis terlihat lebih tua dari jendela write-timeout
+	static class MovableClock extends Clock {
+
+		private volatile Duration offset = Duration.ZERO;
+
+		void advance(Duration duration) {
+			offset = offset.plus(duration);
+		}
+
+		void reset() {
+			offset = Duration.ZERO;
+		}
+
+		@Override
+		public Instant instant() {
+			return Instant.now().plus(offset);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	@TestConfiguration
+	static class ClockTestConfig {
+
+		@Bean
+		@Primary
+		MovableClock movableClock() {
+			return new MovableClock();
+		}
+	}
+
+	@Autowired
+	private MovableClock clock;
+
+	@Autowired
+	private TransactionSyncService transactionSyncService;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void resetClock() {
+		clock.reset();
+	}
+
+	@Test
+	void createWithOwnedCategoryMissingFromStaleIndexIsApplied() {
+		Category category = categoryRepository.save(new Category("Sync Instance Lain", true, user));
+
+		SyncResultDTO result = sync(create(opId(), category.getCategoryId())).getResults().get(0);
+
+		assertThat(result.getStatus()).isEqualTo(TransactionSyncService.APPLIED);
+		assertThat(result.getHttpStatus()).isEqualTo(201);
+	}
+
+	@Test
+	void stateDependentRejectionIsEvaluatedAgainOnResend() {
+		String opId = opId();
+		Category other = categoryRepository.save(new Category("Sync Milik Lain", true,
+				userRepository.save(new User("Other", "other-sync-" + opId + "@example.com", "secret"))));
+
+		SyncResultDTO missing = sync(create(opId, 987_654L)).getResults().get(0);
+		SyncResultDTO foreign = sync(create(opId, other.getCategoryId())).getResults().get(0);
+		Category created = categoryRepository.save(new Category("Sync Dibuat Belakangan", false, user));
+		SyncResultDTO resent = sync(create(opId, created.getCategoryId())).getResults().get(0);
+
+		assertThat(missing.getHttpStatus()).isEqualTo(404);
+		assertThat(foreign.getHttpStatus()).isEqualTo(403);
+		assertThat(foreign.getReplayed()).isFalse();
+		assertThat(resent.getStatus()).isEqualTo(TransactionSyncService.APPLIED);
+		assertThat(resent.getReplayed()).isFalse();
+	}
+
+	@Test
+	void payloadRejectionIsStoredAndReplayed() {
+		SyncOperationDTO invalid = create(opId(), null);
+
+		SyncResultDTO first = sync(invalid).getResults().get(0);
+		SyncResultDTO resent = sync(invalid).getResults().get(0);
+
+		assertThat(first.getHttpStatus()).isEqualTo(400);
+		assertThat(resent.getHttpStatus()).isEqualTo(400);
+		assertThat(resent.getReplayed()).isTrue();
+	}
+
+	@Test
+	void resentBatchReturnsStoredResultsWithoutWritingAgain() {
+		Category category = newUserCategory();
+		SyncOperationDTO[] batch = {create(opId(), category.getCategoryId()), create(opId(), category.getCategoryId())};
+
+		SyncResponseDTO first = sync(category.getCreatedBy(), null, batch);
+		SyncResponseDTO resent = sync(category.getCreatedBy(), null, batch);
+
+		assertThat(first.getResults()).extracting(SyncResultDTO::getReplayed).containsExactly(false, false);
+		assertThat(resent.getResults()).extracting(SyncResultDTO::getReplayed).containsExactly(true, true);
+		assertThat(resent.getResults()).extracting(SyncResultDTO::getTransactionId)
+				.isEqualTo(first.getResults().stream().map(SyncResultDTO::getTransactionId).toList());
+		assertThat(countTransactions(category.getCreatedBy())).isEqualTo(2);
+	}
+
+	@Test
+	void duplicateOpIdInOneBatchIsAppliedOnce() {
+		Category category = newUserCategory();
+		String opId = opId();
+
+		SyncResponseDTO response = sync(category.getCreatedBy(), null,
+				create(opId, category.getCategoryId()), create(opId, category.getCategoryId()));
+
+		SyncResultDTO first = response.getResults().get(0);
+		SyncResultDTO duplicate = response.getResults().get(1);
+		assertThat(first.getReplayed()).isFalse();
+		assertThat(duplicate.getReplayed()).isTrue();
+		assertThat(duplicate.getTransactionId()).isEqualTo(first.getTransactionId());
+		assertThat(countTransactions(category.getCreatedBy())).isEqualTo(1);
+	}
+
+	@Test
+	void rejectedOperationsDoNotStopTheRestOfTheBatch() {
+		Category category = newUserCategory();
+		SyncOperationDTO zeroAmount = create(opId(), category.getCategoryId());
+		zeroAmount.getTransaction().setTransactionAmount(BigDecimal.ZERO);
+		SyncOperationDTO updateMissing = create(opId(), category.getCategoryId());
+		updateMissing.setType(TransactionSyncService.UPDATE);
+		updateMissing.getTransaction().setTransactionId(987_654L);
+
+		SyncResponseDTO response = sync(category.getCreatedBy(), null,
+				create(opId(), category.getCategoryId()), zeroAmount, updateMissing, create(opId(), category.getCategoryId()));
+
+		assertThat(response.getResults()).extracting(SyncResultDTO::getStatus, SyncResultDTO::getHttpStatus).containsExactly(
+				tuple(TransactionSyncService.APPLIED, 201),
+				tuple(TransactionSyncService.REJECTED, 400),
+				tuple(TransactionSyncService.REJECTED, 404),
+				tuple(TransactionSyncService.APPLIED, 201));
+		assertThat(countTransactions(category.getCreatedBy())).isEqualTo(2);
+	}
+
+	@Test
+	void changesArePagedByCursorOnceOlderThanTheWriteTimeout() {
+		Category category = newUserCategory();
+		User owner = category.getCreatedBy();
+		SyncResponseDTO written = sync(owner, null, create(opId(), category.getCategoryId()),
+				create(opId(), category.getCategoryId()), create(opId(), category.getCategoryId()));
+		// Masih dalam jendela write-timeout: belum boleh dikirim, cursor tetap
+		assertThat(written.getChanges()).isEmpty();
+		assertThat(written.getCursor()).isNull();
+
+		clock.advance(PAST_WRITE_TIMEOUT);
+		SyncResponseDTO firstPage = sync(owner, null);
+		SyncResponseDTO secondPage = sync(owner, firstPage.getCursor());
+		SyncResponseDTO empty = sync(owner, secondPage.getCursor());
+
+		assertThat(firstPage.getChanges()).hasSize(2);
+		assertThat(firstPage.getHasMore()).isTrue();
+		assertThat(secondPage.getChanges()).hasSize(1);
+		assertThat(secondPage.getHasMore()).isFalse();
+		assertThat(empty.getChanges()).isEmpty();
+		assertThat(empty.getCursor()).isEqualTo(secondPage.getCursor());
+		assertThat(List.of(firstPage.getChanges().get(0), firstPage.getChanges().get(1), secondPage.getChanges().get(0)))
+				.extracting(TransactionDTO::getTransactionId)
+				.containsExactlyElementsOf(written.getResults().stream().map(SyncResultDTO::getTransactionId).toList());
+
+		// Baris yang diubah setelah cursor muncul lagi di halaman berikutnya
+		SyncOperationDTO delete = create(opId(), null);
+		delete.setType(TransactionSyncService.DELETE);
+		delete.getTransaction().setTransactionId(written.getResults().get(0).getTransactionId());
+		sync(owner, empty.getCursor(), delete);
+		clock.advance(PAST_WRITE_TIMEOUT);
+		SyncResponseDTO afterDelete = sync(owner, empty.getCursor());
+
+		assertThat(afterDelete.getChanges()).extracting(TransactionDTO::getTransactionId, TransactionDTO::getIsDeleted)
+				.containsExactly(tuple(written.getResults().get(0).getTransactionId(), true));
+	}
+
+	private SyncResponseDTO sync(SyncOperationDTO... operations) {
+		return sync(user, null, operations);
+	}
+
+	private SyncResponseDTO sync(User owner, String cursor, SyncOperationDTO... operations) {
+		SyncRequestDTO request = new SyncRequestDTO();
+		request.setCursor(cursor);
+		request.setOperations(List.of(operations));
+		return transactionSyncService.sync(owner.getUserId(), request);
+	}
+
+	// User baru dengan satu kategori, agar feed perubahannya tidak tercampur transaksi dari test lain
+	private Category newUserCategory() {
+		User owner = userRepository.save(new User("Sync", "sync-" + opId() + "@example.com", "secret"));
+		return categoryRepository.save(new Category("Sync", true, owner));
+	}
+
+	private long countTransactions(User owner) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE user_id = ?",
+				Long.class, owner.getUserId());
+	}
+
+	private SyncOperationDTO create(String opId, Long categoryId) {
+		TransactionDTO dto = new TransactionDTO();
+		dto.setTransactionAmount(new BigDecimal("1000"));
+		dto.setTransactionDate(LocalDate.now());
+		dto.setCategoryId(categoryId);
+		SyncOperationDTO operation = new SyncOperationDTO();
+		operation.setOpId(opId);
+		operation.setType(TransactionSyncService.CREATE);
+		operation.setTransaction(dto);
+		return operation;
+	}
+
+	private static String opId() {
+		return UUID.randomUUID().toString();
+	}
+}
@@ -0,0 +1,112 @@
+package com.example.flutterbackend.service;
+
+import com.example.flutterbackend.dto.CategoryDTO;
+import com.example.flutterbackend.dto.TransactionDTO;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Jumlah statement SQL per create, dihitung lewat datasource-proxy di depan DataSource (H2 in-memory).
+// Dengan index kategori yang sudah hangat, create transaksi tidak boleh melakukan SELECT sama sekali.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:write-statement-count;DB_CLOSE_DELAY=-1"
+})
+@Import(WriteStatementCountTests.StatementCountConfig.class)
+class WriteStatementCountTests extends ServiceTestSupport {
+
+	@TestConfiguration
+	static class StatementCountConfig {
+
+		@Bean
+		static BeanPostProcessor countingDataSourcePostProcessor() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+						return ProxyDataSourceBuilder.create(dataSource).name("statement-count").countQuery().build();
+					}
+					return bean;
+				}
+			};
+		}
+	}
+
+	@Autowired
+	private TransactionService transactionService;
+
+	private Long categoryId;
+
+	@BeforeEach
+	void ensureExpenseCategory() {
+		// Kategori default bisa belum ada (urutan CommandLineRunner data awal tidak dijamin)
+		if (categoryService.getCategorySnapshot(user.getUserId()).getExpense().isEmpty()) {
+			categoryService.createCategory(category("Makanan", true), user.getUserId());
+		}
+		categoryId = categoryService.getCategorySnapshot(user.getUserId()).getExpense().get(0).getCategoryId();
+	}
+
+	@Test
+	void createTransactionIssuesOneInsertAndRollupUpsertOnly() {
+		// Pemanasan: optimizer pooled memanggil sequence pada dua insert pertama (setelah itu sekali per 50 ID),
+		// dan baris rollup bulan ini dibuat oleh insert pertama
+		transactionService.createTransaction(transaction(new BigDecimal("1000")));
+		transactionService.createTransaction(transaction(new BigDecimal("1500")));
+
+		QueryCountHolder.clear();
+		TransactionDTO created = transactionService.createTransaction(transaction(new BigDecimal("2500")));
+		QueryCount count = QueryCountHolder.getGrandTotal();
+
+		assertThat(created.getTransactionType()).isEqualTo("EXPENSE");
+		assertThat(count.getSelect()).isZero();
+		assertThat(count.getInsert()).isEqualTo(1);
+		// Rollup: satu upsert (MERGE di H2, dihitung sebagai 'other' oleh datasource-proxy)
+		assertThat(count.getUpdate()).isZero();
+		assertThat(count.getOther()).isEqualTo(1);
+		assertThat(count.getDelete()).isZero();
+		assertThat(count.getTotal()).isEqualTo(2);
+	}
+
+	@Test
+	void createCategoryIssuesNameCheckAndOneInsertOnly() {
+		QueryCountHolder.clear();
+		CategoryDTO created = categoryService.createCategory(category("Statement Count", true), user.getUserId());
+		QueryCount count = QueryCountHolder.getGrandTotal();
+
+		assertThat(created.getCreatedByUserId()).isEqualTo(user.getUserId());
+		// Cek nama duplikat ke tabel categories; user cukup referensi (tanpa SELECT users)
+		assertThat(count.getSelect()).isEqualTo(1);
+		assertThat(count.getInsert()).isEqualTo(1);
+		assertThat(count.getTotal()).isEqualTo(2);
+	}
+
+	private static CategoryDTO category(String name, boolean isExpense) {
+		CategoryDTO dto = new CategoryDTO();
+		dto.setCategoryName(name);
+		dto.setIsExpense(isExpense);
+		return dto;
+	}
+
+	private TransactionDTO transaction(BigDecimal amount) {
+		TransactionDTO dto = new TransactionDTO();
+		dto.setTransactionAmount(amount);
+		dto.setTransactionDate(LocalDate.now());
+		dto.setCategoryId(categoryId);
+		dto.setUserId(user.getUserId());
+		return dto;
+	}
+}
@@ -0,0 +1,83 @@
+package com.example.flutterbackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTests {
+
+	@Test
+	void insertedKeysAreAlwaysReported() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		long[][] keys = randomKeys(new Random(11), 10_000);
+		for (long[] key : keys) {
+			filter.put(key[0], key[1]);
+		}
+
+		for (long[] key : keys) {
+			assertThat(filter.mightContain(key[0], key[1])).isTrue();
+		}
+	}
+
+	@Test
+	void falsePositiveRateStaysNearConfiguredRate() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (long[] key : randomKeys(new Random(21), 10_000)) {
+			filter.put(key[0], key[1]);
+		}
+
+		int falsePositives = 0;
+		long[][] others = randomKeys(new Random(22), 100_000);
+		for (long[] key : others) {
+			if (filter.mightContain(key[0], key[1])) {
+				falsePositives++;
+			}
+		}
+		// Target 1%; batas longgar agar tidak rapuh, tetapi tetap menangkap hashing yang rusak
+		assertThat(falsePositives / (double) others.length).isLessThan(0.02);
+	}
+
+	@Test
+	void concurrentPutsDoNotLoseBits() throws Exception {
+		BloomFilter filter = new BloomFilter(40_000, 0.01);
+		long[][] keys = randomKeys(new Random(31), 40_000);
+		int threads = 4;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int offset = t;
+				futures.add(executor.submit(() -> {
+					for (int i = offset; i < keys.length; i += threads) {
+						filter.put(keys[i][0], keys[i][1]);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		for (long[] key : keys) {
+			assertThat(filter.mightContain(key[0], key[1])).isTrue();
+		}
+	}
+
+	private static long[][] randomKeys(Random random, int count) {
+		long[][] keys = new long[count][2];
+		for (long[] key : keys) {
+			key[0] = random.nextLong();
+			key[1] = random.nextLong();
+		}
+		return keys;
+	}
+}
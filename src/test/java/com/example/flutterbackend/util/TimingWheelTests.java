@@ -0,0 +1,108 @@
+package com.example.flutterbackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTests {
+
+	// tick 10 ms x 8 slot x 3 level: level 0 menjangkau 80 ms, level 1 640 ms, level 2 5120 ms
+	private static final long TICK = 10;
+	private static final int WHEEL_SIZE = 8;
+	private static final int LEVELS = 3;
+	private static final long START = 1_000;
+
+	@Test
+	void itemExpiresWhenClockPassesItsTick() {
+		TimingWheel<String> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, LEVELS, START);
+		List<String> expired = new ArrayList<>();
+		wheel.add("token", START + 35);
+
+		// Slot [1030, 1040) baru dikeluarkan setelah jam melewati seluruh rentangnya
+		wheel.advanceClock(START + 39, expired::add);
+		assertThat(expired).isEmpty();
+		wheel.advanceClock(START + 40, expired::add);
+		assertThat(expired).containsExactly("token");
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void expiredItemIsNotAdded() {
+		TimingWheel<String> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, LEVELS, START);
+		wheel.advanceClock(START + 100, item -> { });
+
+		assertThat(wheel.add("late", START + 50)).isFalse();
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void itemsCascadeDownThroughEveryLevel() {
+		TimingWheel<String> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, LEVELS, START);
+		Map<String, Long> expirations = Map.of(
+				"level0", START + 35,
+				"level1", START + 305,
+				"level2", START + 3_005,
+				// Di luar jangkauan level teratas: diparkir lalu ditempatkan ulang
+				"parked", START + 20_005);
+		expirations.forEach(wheel::add);
+
+		Map<String, Long> expiredAt = new HashMap<>();
+		for (long now = START; now <= START + 21_000; now += TICK) {
+			long clock = now;
+			wheel.advanceClock(now, item -> expiredAt.put(item, clock));
+		}
+
+		expirations.forEach((item, expiration) ->
+				assertThat(expiredAt.get(item)).as(item).isEqualTo(tickEnd(expiration)));
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void randomScheduleExpiresEveryItemInTheFirstAdvancePastItsTick() {
+		Random random = new Random(42);
+		TimingWheel<Integer> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, LEVELS, START);
+		Map<Integer, Long> expirations = new HashMap<>();
+		Map<Integer, long[]> expiredWindow = new HashMap<>();
+		long now = START;
+		int next = 0;
+
+		while (now < START + 60_000) {
+			// Tambah item baru relatif terhadap jam saat ini (termasuk jarak di luar jangkauan wheel)
+			for (int i = 0; i < 5; i++) {
+				long expiration = now + random.nextInt(10_000);
+				if (wheel.add(next, expiration)) {
+					expirations.put(next, expiration);
+				}
+				next++;
+			}
+			long previous = now;
+			now += 1 + random.nextInt(200);
+			long clock = now;
+			wheel.advanceClock(now, item -> expiredWindow.put(item, new long[]{previous, clock}));
+		}
+
+		for (Map.Entry<Integer, long[]> entry : expiredWindow.entrySet()) {
+			long end = tickEnd(expirations.get(entry.getKey()));
+			// Tidak terlalu awal, dan tidak terlambat melewati advance pertama setelah tick-nya selesai
+			assertThat(end).isLessThanOrEqualTo(entry.getValue()[1]);
+			assertThat(end).isGreaterThan(entry.getValue()[0]);
+		}
+		for (Map.Entry<Integer, Long> entry : expirations.entrySet()) {
+			if (!expiredWindow.containsKey(entry.getKey())) {
+				assertThat(tickEnd(entry.getValue())).isGreaterThan(now);
+			}
+		}
+		assertThat(wheel.size()).isEqualTo(expirations.size() - expiredWindow.size());
+	}
+
+	// Waktu paling awal item dikeluarkan: akhir tick tempat waktu kedaluwarsanya berada
+	private static long tickEnd(long expiration) {
+		return (expiration / TICK + 1) * TICK;
+	}
+}